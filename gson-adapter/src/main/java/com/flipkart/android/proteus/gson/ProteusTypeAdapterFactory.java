@@ -406,7 +406,7 @@ public class ProteusTypeAdapterFactory implements TypeAdapterFactory {
 
     private static Value compileString(Context context, String string) {
         if (Binding.isBindingValue(string)) {
-            return Binding.valueOf(string, context, PROTEUS_INSTANCE_HOLDER.getProteus().functions);
+            return Binding.compile(string, context, PROTEUS_INSTANCE_HOLDER.getProteus().functions);
         } else {
             return new Primitive(string);
         }
@@ -0,0 +1,300 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AsyncProteusLayoutInflater
+ * <p>
+ * Inflates layouts on a background thread and hands the finished {@link ProteusView} to a
+ * {@link Callback} on the main thread. Parser resolution, binding evaluation, creation of the
+ * {@link DataContext}s and construction of the views all happen off the main thread; the
+ * returned view is not attached to {@code parent}, which is only used to generate its
+ * layout params.
+ * </p>
+ * <p>
+ * Requests must be made on the main thread. If {@code parent} is a {@link ProteusView}, a
+ * copy of its data is taken when the request is made, and the view is bound to that copy;
+ * nothing else of {@code parent} is read on the background thread. Background inflation
+ * never takes views from the {@link ProteusViewPool}, since a pooled view is bound to new
+ * data in place. Only a {@link SimpleLayoutInflater} can inflate off the main thread, every
+ * request to any other inflater is inflated on the main thread.
+ * </p>
+ * <p>
+ * Requests wait in a bounded queue. When the queue is full, or when inflation fails on the
+ * background thread (for example because a view needs a {@link Looper}), the request is
+ * inflated on the main thread instead, the same way {@link ProteusLayoutInflater} would have.
+ * </p>
+ */
+public class AsyncProteusLayoutInflater {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 16;
+
+    private static final String TAG = "AsyncProteusInflater";
+
+    private static final ThreadFactory THREAD_FACTORY = new ThreadFactory() {
+
+        private final AtomicInteger count = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(@NonNull final Runnable runnable) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    runnable.run();
+                }
+            }, "proteus-inflater-" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    };
+
+    @NonNull
+    private final ProteusLayoutInflater inflater;
+
+    @NonNull
+    private final ExecutorService executor;
+
+    @NonNull
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    public AsyncProteusLayoutInflater(@NonNull ProteusLayoutInflater inflater) {
+        this(inflater, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param inflater The inflater to run on the background thread.
+     * @param capacity The maximum number of requests waiting to be inflated.
+     */
+    public AsyncProteusLayoutInflater(@NonNull ProteusLayoutInflater inflater, int capacity) {
+        this(inflater, new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(capacity), THREAD_FACTORY));
+    }
+
+    /**
+     * @param inflater The inflater to run on the background thread.
+     * @param executor The executor to inflate on. It should reject requests instead of
+     *                 queueing them without a bound.
+     */
+    public AsyncProteusLayoutInflater(@NonNull ProteusLayoutInflater inflater, @NonNull ExecutorService executor) {
+        this.inflater = inflater;
+        this.executor = executor;
+    }
+
+    @NonNull
+    public Request inflate(@NonNull Layout layout, @NonNull ObjectValue data, @NonNull Callback callback) {
+        return inflate(layout, data, null, -1, callback);
+    }
+
+    @NonNull
+    public Request inflate(@NonNull Layout layout, @NonNull ObjectValue data, int dataIndex, @NonNull Callback callback) {
+        return inflate(layout, data, null, dataIndex, callback);
+    }
+
+    /**
+     * Queues {@code layout} to be inflated on the background thread. Must be called on the
+     * main thread.
+     *
+     * @param layout    The layout to inflate.
+     * @param data      The data to bind the layout to.
+     * @param parent    The parent the view will be added to, used to generate its layout params.
+     * @param dataIndex The index of the data.
+     * @param callback  Called on the main thread with the inflated view, unless the request is
+     *                  cancelled first.
+     * @return The request, which can be used to cancel it.
+     */
+    @NonNull
+    public Request inflate(@NonNull Layout layout, @NonNull ObjectValue data, @Nullable ViewGroup parent,
+                           int dataIndex, @NonNull Callback callback) {
+        Request request = new Request(this, layout, data, parent, dataIndex, callback);
+        if (!(inflater instanceof SimpleLayoutInflater)) {
+            handler.post(request.fallback);
+            return request;
+        }
+        try {
+            executor.execute(request);
+        } catch (RejectedExecutionException e) {
+            if (ProteusConstants.isLoggingEnabled()) {
+                Log.d(TAG, "Queue full, inflating '" + layout.type + "' on the main thread");
+            }
+            handler.post(request.fallback);
+        }
+        return request;
+    }
+
+    /**
+     * Cancels every queued request and stops the background thread. The inflater cannot be
+     * used after this.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        handler.removeCallbacksAndMessages(null);
+    }
+
+    /**
+     * A pending inflation.
+     */
+    public static class Request implements Runnable {
+
+        private static final int QUEUED = 0;
+        private static final int DELIVERED = 1;
+        private static final int CANCELLED = 2;
+
+        @NonNull
+        private final AsyncProteusLayoutInflater owner;
+
+        @NonNull
+        private final Layout layout;
+
+        @NonNull
+        private final ObjectValue data;
+
+        @Nullable
+        private final ViewGroup parent;
+
+        private final int dataIndex;
+
+        /**
+         * The data and the index to inflate with in the background: a copy of the data of
+         * {@code parent} if it is a {@link ProteusView}, taken when the request is made.
+         */
+        @NonNull
+        private final ObjectValue snapshot;
+
+        private final int snapshotIndex;
+
+        @NonNull
+        private final Callback callback;
+
+        @NonNull
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+
+        @NonNull
+        private final Runnable fallback = new Runnable() {
+            @Override
+            public void run() {
+                if (!isCancelled()) {
+                    deliver(owner.inflater.inflate(layout, data, parent, dataIndex));
+                }
+            }
+        };
+
+        Request(@NonNull AsyncProteusLayoutInflater owner, @NonNull Layout layout, @NonNull ObjectValue data,
+                @Nullable ViewGroup parent, int dataIndex, @NonNull Callback callback) {
+            this.owner = owner;
+            this.layout = layout;
+            this.data = data;
+            this.parent = parent;
+            this.dataIndex = dataIndex;
+            this.callback = callback;
+
+            DataContext scope = parent instanceof ProteusView ? ((ProteusView) parent).getViewManager().getDataContext() : null;
+            if (null != scope) {
+                this.snapshot = scope.getData().copy();
+                this.snapshotIndex = null == layout.data ? scope.getIndex() : dataIndex;
+            } else {
+                this.snapshot = data;
+                this.snapshotIndex = dataIndex;
+            }
+        }
+
+        @Override
+        public void run() {
+            if (isCancelled()) {
+                return;
+            }
+
+            final ProteusView view;
+            try {
+                view = ((SimpleLayoutInflater) owner.inflater).inflateDetached(layout, snapshot, parent, snapshotIndex);
+            } catch (RuntimeException e) {
+                if (ProteusConstants.isLoggingEnabled()) {
+                    Log.w(TAG, "Failed to inflate '" + layout.type + "' in the background, retrying on the main thread", e);
+                }
+                owner.handler.post(fallback);
+                return;
+            }
+
+            owner.handler.post(new Runnable() {
+                @Override
+                public void run() {
+                    deliver(view);
+                }
+            });
+        }
+
+        private void deliver(@NonNull ProteusView view) {
+            if (state.compareAndSet(QUEUED, DELIVERED)) {
+                callback.onInflated(view);
+            }
+        }
+
+        /**
+         * Cancels the request. A request which has not started is removed from the queue; one
+         * which is being inflated finishes, but its view is dropped.
+         *
+         * @return {@code false} if the view was already delivered.
+         */
+        public boolean cancel() {
+            if (state.compareAndSet(QUEUED, CANCELLED)) {
+                if (owner.executor instanceof ThreadPoolExecutor) {
+                    ((ThreadPoolExecutor) owner.executor).remove(this);
+                }
+                owner.handler.removeCallbacks(fallback);
+                return true;
+            }
+            return isCancelled();
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+    }
+
+    /**
+     * Receives the inflated views on the main thread.
+     */
+    public interface Callback {
+
+        /**
+         * @param view The inflated view, not yet attached to a parent.
+         */
+        void onInflated(@NonNull ProteusView view);
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.processor.AttributeProcessor;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BindPlan
+ * <p>
+ * The result of evaluating every binding of a {@link ProteusView} tree against new data,
+ * ready to be applied in one pass. Evaluating bindings, including the functions they call
+ * and the scopes of the {@link DataContext}s, is the expensive part of
+ * {@link ProteusView.Manager#update(ObjectValue)}; a plan does it off the main thread:
+ * </p>
+ * <pre>
+ * final BindPlan.Builder builder = new BindPlan.Builder(view); // main thread
+ * executor.execute(new Runnable() {
+ *     public void run() {
+ *         final BindPlan plan = builder.build(data);          // any thread
+ *         handler.post(new Runnable() {
+ *             public void run() {
+ *                 plan.apply();                               // main thread
+ *             }
+ *         });
+ *     }
+ * });
+ * </pre>
+ * <p>
+ * Values which are equal to the ones last applied are not applied again.
+ * Bindings which can only be handled by the view, such as data bound children, are handled
+ * when the plan is applied.
+ * </p>
+ */
+public class BindPlan {
+
+    @NonNull
+    private final Node[] nodes;
+
+    @NonNull
+    private final ObjectValue[] data;
+
+    @NonNull
+    private final Entry[] entries;
+
+    private int skipped;
+
+    private BindPlan(@NonNull Node[] nodes, @NonNull ObjectValue[] data, @NonNull Entry[] entries) {
+        this.nodes = nodes;
+        this.data = data;
+        this.entries = entries;
+    }
+
+    /**
+     * Applies the plan. Must be called on the main thread.
+     */
+    public void apply() {
+        skipped = 0;
+        int e = 0;
+        Entry entry;
+        for (int i = 0; i < nodes.length; i++) {
+            if (!(nodes[i].manager instanceof ViewManager)) {
+                nodes[i].manager.update(data[i]);
+                continue;
+            }
+            ViewManager manager = (ViewManager) nodes[i].manager;
+            manager.setData(data[i]);
+            for (; e < entries.length && entries[e].node == i; e++) {
+                entry = entries[e];
+                if (null == entry.value) {
+                    manager.handleBinding(entry.attribute);
+                } else if (null == entry.previous || entry.attribute.value != entry.previous) {
+                    manager.handleValue(entry.attribute, entry.value);
+                } else {
+                    manager.getContext().onBindingSkipped();
+                    skipped++;
+                }
+            }
+            manager.onPlanApplied();
+        }
+    }
+
+    /**
+     * @return the number of bound attributes in the plan.
+     */
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * @return the number of bound attributes which were not applied by the last
+     * {@link #apply()} because their value had not changed.
+     */
+    public int getSkippedCount() {
+        return skipped;
+    }
+
+    /**
+     * BindPlan.Builder
+     * <p>
+     * A snapshot of the views of a tree which {@link ProteusView.Manager#update(ObjectValue)}
+     * would visit. It is taken on the main thread; plans can then be built from it on any
+     * thread, as long as views are not added to or removed from the tree in the meantime.
+     * </p>
+     */
+    public static class Builder {
+
+        @NonNull
+        private final Node[] nodes;
+
+        public Builder(@NonNull ProteusView view) {
+            List<Node> nodes = new ArrayList<>();
+            collect(view.getViewManager(), -1, nodes);
+            this.nodes = nodes.toArray(new Node[nodes.size()]);
+        }
+
+        private static void collect(@NonNull ProteusView.Manager manager, int parent, @NonNull List<Node> nodes) {
+            int index = nodes.size();
+            nodes.add(new Node(manager, parent));
+
+            // other managers are updated as a whole, data bound children by their parent's binding
+            if (!(manager instanceof ViewGroupManager) || ((ViewGroupManager) manager).hasDataBoundChildren) {
+                return;
+            }
+            View view = ((ViewGroupManager) manager).view;
+            if (view instanceof ViewGroup) {
+                ViewGroup group = (ViewGroup) view;
+                View child;
+                for (int i = 0; i < group.getChildCount(); i++) {
+                    child = group.getChildAt(i);
+                    if (child instanceof ProteusView) {
+                        collect(((ProteusView) child).getViewManager(), index, nodes);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Evaluates the bindings of the tree against {@code data}. Can be called on any thread.
+         *
+         * @param data the new data of the root.
+         * @return the plan to apply on the main thread.
+         */
+        @NonNull
+        public BindPlan build(@NonNull ObjectValue data) {
+            ObjectValue[] resolved = new ObjectValue[nodes.length];
+            List<Entry> entries = new ArrayList<>();
+
+            for (int i = 0; i < nodes.length; i++) {
+                ObjectValue in = nodes[i].parent < 0 ? data : resolved[nodes[i].parent];
+                if (!(nodes[i].manager instanceof ViewManager)) {
+                    resolved[i] = in;
+                    continue;
+                }
+
+                ViewManager manager = (ViewManager) nodes[i].manager;
+                DataContext dataContext = manager.getDataContext();
+                ObjectValue out = dataContext.resolve(manager.getContext(), in);
+                resolved[i] = out;
+
+                if (null == manager.boundAttributes) {
+                    continue;
+                }
+
+                for (BoundAttribute boundAttribute : manager.boundAttributes) {
+                    AttributeProcessor processor = manager.parser.getAttributeProcessor(boundAttribute.attributeId);
+                    if (null == processor) {
+                        continue;
+                    }
+                    Value previous = boundAttribute.value;
+                    Value value = processor.resolve(boundAttribute.binding, manager.view.getContext(), out, dataContext.getIndex());
+                    boolean unchanged = null != value && processor.isIdempotent() && BoundAttribute.isUnchanged(previous, value);
+                    entries.add(new Entry(i, boundAttribute, value, unchanged ? previous : null));
+                }
+            }
+
+            return new BindPlan(nodes, resolved, entries.toArray(new Entry[entries.size()]));
+        }
+    }
+
+    private static class Node {
+
+        @NonNull
+        final ProteusView.Manager manager;
+
+        final int parent;
+
+        Node(@NonNull ProteusView.Manager manager, int parent) {
+            this.manager = manager;
+            this.parent = parent;
+        }
+    }
+
+    private static class Entry {
+
+        final int node;
+
+        @NonNull
+        final BoundAttribute attribute;
+
+        /**
+         * The evaluated value, {@code null} if the binding is handled on the main thread.
+         */
+        @Nullable
+        final Value value;
+
+        /**
+         * The last applied value if it is equal to {@link #value}; it is skipped if it is
+         * still the last applied value when the plan is applied.
+         */
+        @Nullable
+        final Value previous;
+
+        Entry(int node, @NonNull BoundAttribute attribute, @Nullable Value value, @Nullable Value previous) {
+            this.node = node;
+            this.attribute = attribute;
+            this.value = value;
+            this.previous = previous;
+        }
+    }
+}
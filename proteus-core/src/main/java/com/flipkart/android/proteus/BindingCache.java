@@ -0,0 +1,69 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.flipkart.android.proteus.value.Binding;
+
+/**
+ * BindingCache
+ * <p>
+ * Holds the {@link Binding}s compiled from binding strings, keyed by the string, so that a
+ * binding used by many layouts is compiled once. Implementations must be safe to use from
+ * several threads. Set one with {@link ProteusBuilder#setBindingCache(BindingCache)}; the
+ * default is a {@link SimpleBindingCache}.
+ * </p>
+ */
+public interface BindingCache {
+
+    /**
+     * @param key the binding string, like {@code @{a.b}}.
+     * @return the binding compiled from {@code key}, or {@code null} if it is not cached.
+     */
+    @Nullable
+    Binding get(@NonNull String key);
+
+    /**
+     * Caches {@code binding}, which was compiled from {@code key}.
+     */
+    void put(@NonNull String key, @NonNull Binding binding);
+
+    /**
+     * Removes all the cached bindings. The statistics are not reset.
+     */
+    void clear();
+
+    /**
+     * @return the number of times {@link #get(String)} found a binding.
+     */
+    long getHitCount();
+
+    /**
+     * @return the number of times {@link #get(String)} returned {@code null}.
+     */
+    long getMissCount();
+
+    /**
+     * @return the number of bindings removed to make room for others.
+     */
+    long getEvictionCount();
+}
@@ -20,8 +20,14 @@
 package com.flipkart.android.proteus;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.Value;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * @author kirankumar
@@ -34,8 +40,61 @@ public class BoundAttribute {
     @NonNull
     public final Binding binding;
 
+    /**
+     * The data paths read by {@link #binding}, {@code null} if they are not known.
+     */
+    @Nullable
+    public final List<String> paths;
+
+    /**
+     * The last value applied for {@link #binding}, {@code null} if it is not remembered.
+     * Read by the thread building a {@link BindPlan}.
+     */
+    @Nullable
+    volatile Value value;
+
     public BoundAttribute(int attributeId, @NonNull Binding binding) {
         this.attributeId = attributeId;
         this.binding = binding;
+        List<String> paths = new ArrayList<>();
+        this.paths = binding.collectPaths(paths) ? paths : null;
+    }
+
+    /**
+     * @param changedPaths the data paths which changed.
+     * @return {@code true} if the binding reads any of the changed paths.
+     */
+    public boolean isAffected(@NonNull Collection<String> changedPaths) {
+        if (null == paths) {
+            return true;
+        }
+        for (String path : paths) {
+            if (Binding.isAffected(path, changedPaths)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Only primitives and nulls are remembered; objects and arrays can be changed in place
+     * and comparing them costs about as much as applying them.
+     *
+     * @param last  the last applied value.
+     * @param value the new value.
+     * @return {@code true} if applying {@code value} again would have no effect.
+     */
+    static boolean isUnchanged(@Nullable Value last, @NonNull Value value) {
+        if (null == last) {
+            return false;
+        }
+        if (value.isPrimitive()) {
+            return last == value || (last.isPrimitive() && last.equals(value));
+        }
+        return value.isNull() && last.isNull();
+    }
+
+    static boolean isRemembered(@NonNull Value value) {
+        return value.isPrimitive() || value.isNull();
     }
 }
@@ -0,0 +1,275 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.Choreographer;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.exceptions.ProteusInflateException;
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Value;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ChunkedInflation
+ * <p>
+ * A layout being inflated a few views per frame, started by
+ * {@link SimpleLayoutInflater#inflateInChunks(Layout, ObjectValue, ViewGroup, int, long, Listener)}.
+ * Each view is inflated with its attributes and data bound children; its static children
+ * are queued and added to it, in order, in the following chunks. Until the inflation is
+ * complete the tree shows the views inflated so far.
+ * </p>
+ * <p>
+ * A tree must not be released to the {@link ProteusViewPool} before its inflation is complete.
+ * </p>
+ */
+public class ChunkedInflation {
+
+    public static final long DEFAULT_BUDGET = 8;
+
+    private static final long FRAME_DELAY = 16;
+
+    @NonNull
+    private final SimpleLayoutInflater inflater;
+
+    private final long budget;
+
+    @Nullable
+    private final Listener listener;
+
+    @NonNull
+    private final ArrayDeque<Pending> queue = new ArrayDeque<>();
+
+    @NonNull
+    private final Runnable chunk = new Runnable() {
+        @Override
+        public void run() {
+            inflateChunk();
+        }
+    };
+
+    @Nullable
+    private FrameCallback callback;
+
+    @Nullable
+    private Handler handler;
+
+    @Nullable
+    private ProteusView root;
+
+    private boolean complete;
+
+    private boolean cancelled;
+
+    private int chunks;
+
+    ChunkedInflation(@NonNull SimpleLayoutInflater inflater, long budget, @Nullable Listener listener) {
+        this.inflater = inflater;
+        this.budget = TimeUnit.MILLISECONDS.toNanos(budget);
+        this.listener = listener;
+    }
+
+    void start(@NonNull Layout layout, @NonNull ObjectValue data, @Nullable ViewGroup parent, int dataIndex) {
+        root = inflater.inflate(layout, data, parent, dataIndex, this, true);
+        post();
+    }
+
+    /**
+     * Queues the static children of {@code view} to be inflated in the following chunks.
+     */
+    void defer(@NonNull ViewTypeParser parser, @NonNull ProteusView view, @NonNull Array children) {
+        if (children.size() > 0) {
+            queue.add(new Pending(parser, view, children));
+        }
+    }
+
+    /**
+     * Inflates views from the queue until the budget for this frame is spent. At least one
+     * view is inflated in every chunk.
+     */
+    void inflateChunk() {
+        if (cancelled) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + budget;
+        chunks++;
+
+        Pending pending;
+        Value element;
+        DataContext dataContext;
+        ProteusView child;
+
+        while (!queue.isEmpty()) {
+            pending = queue.peek();
+            element = pending.children.get(pending.next++);
+            if (pending.next >= pending.children.size()) {
+                queue.poll();
+            }
+
+            if (!element.isLayout()) {
+                throw new ProteusInflateException("attribute  'children' must be an array of 'Layout' objects");
+            }
+
+            dataContext = pending.parent.getViewManager().getDataContext();
+            child = inflater.inflate(element.getAsLayout(), dataContext.getData(), (ViewGroup) pending.parent.getAsView(),
+                    dataContext.getIndex(), this, true);
+            //noinspection unchecked
+            pending.parser.addView(pending.parent, child);
+
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+        }
+
+        if (queue.isEmpty()) {
+            complete = true;
+            if (null != listener && null != root) {
+                listener.onComplete(root);
+            }
+        } else {
+            post();
+        }
+    }
+
+    /**
+     * Schedules the next chunk for the next frame.
+     */
+    void post() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            if (null == callback) {
+                callback = new FrameCallback(this);
+            }
+            callback.post();
+        } else {
+            if (null == handler) {
+                handler = new Handler(Looper.getMainLooper());
+            }
+            handler.postDelayed(chunk, FRAME_DELAY);
+        }
+    }
+
+    /**
+     * Stops inflating. The views inflated so far stay in the tree and the listener is not
+     * notified.
+     */
+    public void cancel() {
+        cancelled = true;
+        queue.clear();
+        if (null != handler) {
+            handler.removeCallbacks(chunk);
+        }
+        if (null != callback) {
+            callback.cancel();
+        }
+    }
+
+    /**
+     * @return the root of the tree being inflated.
+     */
+    @NonNull
+    public ProteusView getRoot() {
+        //noinspection ConstantConditions because the root is inflated when the inflation starts
+        return root;
+    }
+
+    /**
+     * @return {@code true} if every view of the tree has been inflated.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return the number of frames the inflation has been spread over so far.
+     */
+    public int getChunkCount() {
+        return chunks;
+    }
+
+    /**
+     * Notified on the main thread when a chunked inflation is complete.
+     */
+    public interface Listener {
+
+        /**
+         * @param view The root of the completely inflated tree.
+         */
+        void onComplete(@NonNull ProteusView view);
+    }
+
+    private static class Pending {
+
+        @NonNull
+        final ViewTypeParser parser;
+
+        @NonNull
+        final ProteusView parent;
+
+        @NonNull
+        final Array children;
+
+        int next;
+
+        Pending(@NonNull ViewTypeParser parser, @NonNull ProteusView parent, @NonNull Array children) {
+            this.parser = parser;
+            this.parent = parent;
+            this.children = children;
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private static class FrameCallback implements Choreographer.FrameCallback {
+
+        @NonNull
+        private final ChunkedInflation inflation;
+
+        FrameCallback(@NonNull ChunkedInflation inflation) {
+            this.inflation = inflation;
+        }
+
+        void post() {
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+
+        void cancel() {
+            Choreographer.getInstance().removeFrameCallback(this);
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            inflation.inflateChunk();
+        }
+    }
+}
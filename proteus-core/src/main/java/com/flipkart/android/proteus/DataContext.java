@@ -20,14 +20,21 @@
 package com.flipkart.android.proteus;
 
 import android.content.Context;
+import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
 import com.flipkart.android.proteus.toolbox.Utils;
+import com.flipkart.android.proteus.value.Binding;
 import com.flipkart.android.proteus.value.ObjectValue;
 import com.flipkart.android.proteus.value.Value;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * @author Aditya Sharat
@@ -54,16 +61,44 @@ public class DataContext {
         this.isClone = true;
     }
 
+    /**
+     * Updates {@code data} with the incoming data {@code in} and the {@code scope} evaluated
+     * against it. Without a scope, {@code in} itself becomes the data of the context, not a
+     * copy of it, so that views observing an {@link com.flipkart.android.proteus.value.ObservableObjectValue}
+     * see its changes; members added to the data of such a context are added to {@code in}.
+     */
     public static DataContext updateDataContext(Context context, DataContext data, ObjectValue in, Map<String, Value> scope, int dataIndex) {
 
-        ObjectValue out = new ObjectValue();
-
         data.setIndex(dataIndex);
 
         if (in == null) {
             in = new ObjectValue();
         }
 
+        if (null == scope || scope.isEmpty()) {
+            // nothing to add, share the incoming data so that observers see its changes
+            data.setData(in);
+            data.setScope(scope);
+            return data;
+        }
+
+        ObjectValue out = resolve(context, in, scope, dataIndex);
+
+        if (data.getData() == null) {
+            data.setData(new ObjectValue());
+        } else {
+            data.setData(out);
+        }
+
+        data.setScope(scope);
+
+        return data;
+    }
+
+    @NonNull
+    private static ObjectValue resolve(Context context, @NonNull ObjectValue in, @NonNull Map<String, Value> scope, int dataIndex) {
+        ObjectValue out = new ObjectValue();
+
         for (Map.Entry<String, Value> entry : scope.entrySet()) {
             String key = entry.getKey();
             Value value = entry.getValue();
@@ -78,15 +113,24 @@ public class DataContext {
 
         Utils.addAllEntries(out, in);
 
-        if (data.getData() == null) {
-            data.setData(new ObjectValue());
-        } else {
-            data.setData(out);
-        }
-
-        data.setScope(scope);
+        return out;
+    }
 
-        return data;
+    /**
+     * Computes the data this context would have after {@link #updateDataContext(Context, ObjectValue)}
+     * without changing it. The scope is evaluated against {@code data}, so this can be used to
+     * evaluate an update off the main thread.
+     *
+     * @param context the context to evaluate the scope with.
+     * @param data    the incoming data.
+     * @return the data for this context.
+     */
+    @NonNull
+    public ObjectValue resolve(Context context, @NonNull ObjectValue data) {
+        if (isClone || null == scope || scope.isEmpty()) {
+            return data;
+        }
+        return resolve(context, data, scope, index);
     }
 
     public ObjectValue getData() {
@@ -125,4 +169,72 @@ public class DataContext {
     public void updateDataContext(Context context, ObjectValue data) {
         updateDataContext(context, this, data, scope, index);
     }
+
+    /**
+     * Translates the paths which changed in the data this context was built from into
+     * the paths which changed in the data of this context. Keys of the scope are affected
+     * when their binding reads a changed path, and shadow the same keys of the incoming data.
+     *
+     * @param changedPaths paths which changed in the incoming data.
+     * @return paths which changed in {@link #getData()}.
+     */
+    @NonNull
+    public Collection<String> getChangedPaths(@NonNull Collection<String> changedPaths) {
+        if (isClone || null == scope || scope.isEmpty()) {
+            return changedPaths;
+        }
+        Set<String> out = new HashSet<>();
+        for (String path : changedPaths) {
+            if (!scope.containsKey(getHead(path))) {
+                out.add(path);
+            }
+        }
+        List<String> paths = new ArrayList<>();
+        for (Map.Entry<String, Value> entry : scope.entrySet()) {
+            if (!entry.getValue().isBinding()) {
+                continue;
+            }
+            paths.clear();
+            if (!entry.getValue().getAsBinding().collectPaths(paths)) {
+                out.add(entry.getKey());
+                continue;
+            }
+            for (String path : paths) {
+                if (Binding.isAffected(path, changedPaths)) {
+                    out.add(entry.getKey());
+                    break;
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Translates the paths read from the data of this context into the paths they are read
+     * from in the incoming data. This is the inverse of {@link #getChangedPaths(Collection)}.
+     *
+     * @param paths paths read from {@link #getData()}.
+     * @return paths read from the incoming data, or {@code null} if they are not known.
+     */
+    @Nullable
+    public Collection<String> getIncomingPaths(@NonNull Collection<String> paths) {
+        if (isClone || null == scope || scope.isEmpty()) {
+            return paths;
+        }
+        Set<String> out = new HashSet<>();
+        for (String path : paths) {
+            Value value = scope.get(getHead(path));
+            if (null == value) {
+                out.add(path);
+            } else if (value.isBinding() && !value.getAsBinding().collectPaths(out)) {
+                return null;
+            }
+        }
+        return out;
+    }
+
+    private static String getHead(String path) {
+        int end = path.indexOf(Binding.SIMPLE_DATA_PATH_DELIMITER);
+        return end < 0 ? path : path.substring(0, end);
+    }
 }
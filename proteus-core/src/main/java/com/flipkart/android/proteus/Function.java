@@ -47,6 +47,11 @@ public abstract class Function {
             return ProteusConstants.EMPTY_STRING;
         }
 
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
         @Override
         public String getName() {
             return "noop";
@@ -56,8 +61,23 @@ public abstract class Function {
     @SuppressLint("SimpleDateFormat")
     public static final Function DATE = new Function() {
 
-        private SimpleDateFormat from = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-        private SimpleDateFormat to = new SimpleDateFormat("E, d MMM");
+        /**
+         * A {@link SimpleDateFormat} is not thread safe and bindings may be evaluated off the
+         * main thread, so every thread gets its own default formats.
+         */
+        private final ThreadLocal<SimpleDateFormat> from = new ThreadLocal<SimpleDateFormat>() {
+            @Override
+            protected SimpleDateFormat initialValue() {
+                return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+            }
+        };
+
+        private final ThreadLocal<SimpleDateFormat> to = new ThreadLocal<SimpleDateFormat>() {
+            @Override
+            protected SimpleDateFormat initialValue() {
+                return new SimpleDateFormat("E, d MMM");
+            }
+        };
 
         @NonNull
         @Override
@@ -71,7 +91,7 @@ public abstract class Function {
             if (arguments.length > 2) {
                 return new SimpleDateFormat(arguments[2].getAsString());
             } else {
-                return from;
+                return from.get();
             }
         }
 
@@ -79,7 +99,7 @@ public abstract class Function {
             if (arguments.length > 1) {
                 return new SimpleDateFormat(arguments[1].getAsString());
             } else {
-                return to;
+                return to.get();
             }
         }
 
@@ -124,6 +144,11 @@ public abstract class Function {
             return DEFAULT_DELIMITER;
         }
 
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
         @Override
         public String getName() {
             return "join";
@@ -132,7 +157,12 @@ public abstract class Function {
 
     public static final Function NUMBER = new Function() {
 
-        private final DecimalFormat DEFAULT_FORMATTER = new DecimalFormat("#,###");
+        private final ThreadLocal<DecimalFormat> DEFAULT_FORMATTER = new ThreadLocal<DecimalFormat>() {
+            @Override
+            protected DecimalFormat initialValue() {
+                return new DecimalFormat("#,###");
+            }
+        };
 
         @NonNull
         @Override
@@ -149,7 +179,7 @@ public abstract class Function {
             if (arguments.length > 1) {
                 return new DecimalFormat(arguments[1].getAsString());
             }
-            return DEFAULT_FORMATTER;
+            return DEFAULT_FORMATTER.get();
         }
 
         @Override
@@ -173,6 +203,11 @@ public abstract class Function {
             return new Primitive(sum);
         }
 
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
         @Override
         public String getName() {
             return "add";
@@ -192,6 +227,11 @@ public abstract class Function {
             return new Primitive(sum);
         }
 
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
         @Override
         public String getName() {
             return "sub";
@@ -211,6 +251,11 @@ public abstract class Function {
             return new Primitive(product);
         }
 
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
         @Override
         public String getName() {
             return "mul";
@@ -230,6 +275,11 @@ public abstract class Function {
             return new Primitive(quotient);
         }
 
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
         @Override
         public String getName() {
             return "div";
@@ -248,6 +298,11 @@ public abstract class Function {
             return new Primitive(remainder);
         }
 
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
         @Override
         public String getName() {
             return "mod";
@@ -260,12 +315,18 @@ public abstract class Function {
         @NonNull
         @Override
         public Value call(Value data, int dataIndex, Value... arguments) throws Exception {
-            if (arguments.length < 1) {
+            return call(data, dataIndex, LazyArgs.of(arguments));
+        }
+
+        @NonNull
+        @Override
+        public Value call(Value data, int dataIndex, LazyArgs arguments) throws Exception {
+            if (arguments.size() < 1) {
                 return ProteusConstants.FALSE;
             }
             boolean bool = true;
-            for (Value argument : arguments) {
-                bool = ParseHelper.parseBoolean(argument);
+            for (int i = 0; i < arguments.size(); i++) {
+                bool = ParseHelper.parseBoolean(arguments.get(i));
                 if (!bool) {
                     break;
                 }
@@ -274,6 +335,16 @@ public abstract class Function {
             return bool ? ProteusConstants.TRUE : ProteusConstants.FALSE;
         }
 
+        @Override
+        public boolean isLazy() {
+            return true;
+        }
+
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
         @Override
         public String getName() {
             return "and";
@@ -284,12 +355,18 @@ public abstract class Function {
         @NonNull
         @Override
         public Value call(Value data, int dataIndex, Value... arguments) throws Exception {
-            if (arguments.length < 1) {
+            return call(data, dataIndex, LazyArgs.of(arguments));
+        }
+
+        @NonNull
+        @Override
+        public Value call(Value data, int dataIndex, LazyArgs arguments) throws Exception {
+            if (arguments.size() < 1) {
                 return ProteusConstants.FALSE;
             }
             boolean bool = false;
-            for (Value argument : arguments) {
-                bool = ParseHelper.parseBoolean(argument);
+            for (int i = 0; i < arguments.size(); i++) {
+                bool = ParseHelper.parseBoolean(arguments.get(i));
                 if (bool) {
                     break;
                 }
@@ -298,6 +375,16 @@ public abstract class Function {
             return bool ? ProteusConstants.TRUE : ProteusConstants.FALSE;
         }
 
+        @Override
+        public boolean isLazy() {
+            return true;
+        }
+
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
         @Override
         public String getName() {
             return "or";
@@ -316,6 +403,11 @@ public abstract class Function {
             return ParseHelper.parseBoolean(arguments[0]) ? ProteusConstants.FALSE : ProteusConstants.TRUE;
         }
 
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
         @Override
         public String getName() {
             return "not";
@@ -342,6 +434,11 @@ public abstract class Function {
             return bool ? ProteusConstants.TRUE : ProteusConstants.FALSE;
         }
 
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
         @Override
         public String getName() {
             return "eq";
@@ -366,6 +463,11 @@ public abstract class Function {
             return bool ? ProteusConstants.TRUE : ProteusConstants.FALSE;
         }
 
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
         @Override
         public String getName() {
             return "lt";
@@ -390,6 +492,11 @@ public abstract class Function {
             return bool ? ProteusConstants.TRUE : ProteusConstants.FALSE;
         }
 
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
         @Override
         public String getName() {
             return "gt";
@@ -414,6 +521,11 @@ public abstract class Function {
             return bool ? ProteusConstants.TRUE : ProteusConstants.FALSE;
         }
 
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
         @Override
         public String getName() {
             return "lte";
@@ -438,6 +550,11 @@ public abstract class Function {
             return bool ? ProteusConstants.TRUE : ProteusConstants.FALSE;
         }
 
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
         @Override
         public String getName() {
             return "gte";
@@ -450,11 +567,23 @@ public abstract class Function {
         @NonNull
         @Override
         public Value call(Value data, int dataIndex, Value... arguments) throws Exception {
-            Value i = arguments[0];
-            Value t = arguments[1];
-            Value e = arguments[2];
+            return call(data, dataIndex, LazyArgs.of(arguments));
+        }
 
-            return ParseHelper.parseBoolean(i) ? t : e;
+        @NonNull
+        @Override
+        public Value call(Value data, int dataIndex, LazyArgs arguments) throws Exception {
+            return ParseHelper.parseBoolean(arguments.get(0)) ? arguments.get(1) : arguments.get(2);
+        }
+
+        @Override
+        public boolean isLazy() {
+            return true;
+        }
+
+        @Override
+        public boolean isPure() {
+            return true;
         }
 
         @Override
@@ -476,6 +605,11 @@ public abstract class Function {
             return new Primitive(charAtIndex);
         }
 
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
         @Override
         public String getName() {
             return "charAt";
@@ -493,6 +627,11 @@ public abstract class Function {
             return new Primitive(bool);
         }
 
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
         @Override
         public String getName() {
             return "contains";
@@ -511,6 +650,11 @@ public abstract class Function {
             return new Primitive(ProteusConstants.EMPTY.equals(string));
         }
 
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
         @Override
         public String getName() {
             return "isEmpty";
@@ -534,6 +678,11 @@ public abstract class Function {
             return new Primitive(length);
         }
 
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
         @Override
         public String getName() {
             return "length";
@@ -559,6 +708,11 @@ public abstract class Function {
             return new Primitive(string);
         }
 
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
         @Override
         public String getName() {
             return "trim";
@@ -592,6 +746,11 @@ public abstract class Function {
             return new Primitive(max);
         }
 
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
         @Override
         public String getName() {
             return "max";
@@ -614,6 +773,11 @@ public abstract class Function {
             return new Primitive(min);
         }
 
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
         @Override
         public String getName() {
             return "min";
@@ -668,6 +832,11 @@ public abstract class Function {
             return in.size();
         }
 
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
         @Override
         public String getName() {
             return "slice";
@@ -677,5 +846,85 @@ public abstract class Function {
     @NonNull
     public abstract Value call(Value data, int dataIndex, Value... arguments) throws Exception;
 
+    /**
+     * Called instead of {@link #call(Value, int, Value...)} when this function {@link #isLazy()},
+     * so that it evaluates only the arguments it reads. The default evaluates all of them.
+     */
+    @NonNull
+    public Value call(Value data, int dataIndex, LazyArgs arguments) throws Exception {
+        return call(data, dataIndex, arguments.toArray());
+    }
+
+    /**
+     * @return {@code true} if this function should be called with {@link LazyArgs}.
+     */
+    public boolean isLazy() {
+        return false;
+    }
+
+    /**
+     * A pure function always returns the same value for the same arguments and does not read
+     * the data, the data index, or anything else which can change, like the default locale.
+     * A binding which calls a pure function with constant arguments is evaluated once when it
+     * is compiled. Functions are not pure unless they override this.
+     */
+    public boolean isPure() {
+        return false;
+    }
+
     public abstract String getName();
+
+    /**
+     * LazyArgs
+     * <p>
+     * The arguments of a lazy function. An argument is evaluated the first time it is read,
+     * at most once; arguments which are never read are never evaluated.
+     * </p>
+     */
+    public abstract static class LazyArgs {
+
+        public abstract int size();
+
+        /**
+         * @param index the position of the argument.
+         * @return the evaluated argument.
+         * @throws IndexOutOfBoundsException if there is no such argument.
+         */
+        @NonNull
+        public abstract Value get(int index);
+
+        @NonNull
+        public Value[] toArray() {
+            Value[] values = new Value[size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = get(i);
+            }
+            return values;
+        }
+
+        /**
+         * @return lazy arguments over values which are already evaluated.
+         */
+        @NonNull
+        public static LazyArgs of(@NonNull final Value... values) {
+            return new LazyArgs() {
+                @Override
+                public int size() {
+                    return values.length;
+                }
+
+                @NonNull
+                @Override
+                public Value get(int index) {
+                    return values[index];
+                }
+
+                @NonNull
+                @Override
+                public Value[] toArray() {
+                    return values;
+                }
+            };
+        }
+    }
 }
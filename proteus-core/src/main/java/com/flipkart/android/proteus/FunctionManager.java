@@ -33,8 +33,16 @@ public class FunctionManager {
     @NonNull
     private final Map<String, Function> functions;
 
+    @NonNull
+    private final BindingCache bindings;
+
     public FunctionManager(@NonNull Map<String, Function> functions) {
+        this(functions, new SimpleBindingCache());
+    }
+
+    public FunctionManager(@NonNull Map<String, Function> functions, @NonNull BindingCache bindings) {
         this.functions = functions;
+        this.bindings = bindings;
     }
 
     @NonNull
@@ -45,4 +53,12 @@ public class FunctionManager {
         }
         return function;
     }
+
+    /**
+     * @return the cache of the bindings compiled with these functions.
+     */
+    @NonNull
+    public BindingCache getBindingCache() {
+        return bindings;
+    }
 }
@@ -0,0 +1,215 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.View;
+
+import com.flipkart.android.proteus.parser.IncludeParser;
+import com.flipkart.android.proteus.processor.AttributeProcessor;
+import com.flipkart.android.proteus.toolbox.Attributes;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.NestedBinding;
+import com.flipkart.android.proteus.value.Value;
+import com.flipkart.android.proteus.value.ViewId;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * LayoutPlan
+ * <p>
+ * An immutable, pre-resolved form of a single {@link Layout} node. The {@link ViewTypeParser}
+ * for the node's type is resolved and the values of its attributes are linked once, when the
+ * plan is compiled, so that inflating the node does not need to look up the parser by name or
+ * link the values again. Attributes the parser has no {@link AttributeProcessor} for are
+ * dropped.
+ * </p>
+ * <p>
+ * A plan does not hold a reference to the {@link Layout} it was compiled from, which allows
+ * plans to be cached against their layouts using weak keys.
+ * </p>
+ */
+public class LayoutPlan {
+
+    private static final int[] EMPTY_IDS = new int[0];
+    private static final Value[] EMPTY_VALUES = new Value[0];
+
+    /**
+     * The parser for the layout type, or {@code null} if the type is not registered.
+     */
+    @Nullable
+    public final ViewTypeParser parser;
+
+    @NonNull
+    final int[] ids;
+
+    @NonNull
+    final Value[] values;
+
+    /**
+     * The index of the static {@code children} attribute, {@code -1} if there is none.
+     */
+    final int children;
+
+    /**
+     * The visibility attribute if the layout is replaced by a stub while it is gone. Only
+     * {@code lazy} layouts are stubbed, see {@link ProteusConstants#LAZY}.
+     */
+    @Nullable
+    final Layout.Attribute stub;
+
+    /**
+     * The static id of the view, {@link View#NO_ID} if the id is bound or there is none.
+     */
+    final int id;
+
+    private LayoutPlan(@Nullable ViewTypeParser parser, @NonNull int[] ids, @NonNull Value[] values,
+                       int children, @Nullable Layout.Attribute stub, int id) {
+        this.parser = parser;
+        this.ids = ids;
+        this.values = values;
+        this.children = children;
+        this.stub = stub;
+        this.id = id;
+    }
+
+    /**
+     * Compiles {@code layout}, every {@link Layout} nested in its attributes and the layouts
+     * it includes, and puts the resulting plans into {@code plans}. Layouts which already
+     * have a plan in {@code plans} are not compiled again.
+     *
+     * @param context     The context used to resolve the parsers.
+     * @param idGenerator The id generator used to assign the view ids.
+     * @param layout      The root of the layout tree to compile.
+     * @param plans       The map to put the compiled plans in.
+     * @return The plan for {@code layout}.
+     */
+    @NonNull
+    public static LayoutPlan compile(@NonNull ProteusContext context, @NonNull IdGenerator idGenerator,
+                                     @NonNull Layout layout, @NonNull Map<Layout, LayoutPlan> plans) {
+        LayoutPlan plan = plans.get(layout);
+        if (null != plan) {
+            return plan;
+        }
+
+        ViewTypeParser parser = context.getParser(layout.type);
+        int[] ids = EMPTY_IDS;
+        Value[] values = EMPTY_VALUES;
+        int children = -1;
+        Layout.Attribute stub = null;
+        int id = View.NO_ID;
+
+        if (null != parser && null != layout.attributes) {
+            int childrenId = parser.getAttributeId(Attributes.ViewGroup.Children);
+            int visibilityId = parser.getAttributeId(Attributes.View.Visibility);
+            int idId = parser.getAttributeId(Attributes.View.Id);
+            boolean lazy = null != layout.extras && Boolean.TRUE.equals(layout.extras.getAsBoolean(ProteusConstants.LAZY));
+            int size = layout.attributes.size();
+            ids = new int[size];
+            values = new Value[size];
+            int count = 0;
+            AttributeProcessor processor;
+            for (Layout.Attribute attribute : layout.attributes) {
+                processor = parser.getAttributeProcessor(attribute.id);
+                if (null != processor) {
+                    if (attribute.id == childrenId && attribute.value.isArray()) {
+                        children = count;
+                    } else if (attribute.id == visibilityId && lazy && (attribute.value.isBinding() || ViewStubManager.isGone(attribute.value))) {
+                        stub = attribute;
+                    }
+                    ids[count] = attribute.id;
+                    values[count] = processor.link(attribute.value, idGenerator);
+                    if (attribute.id == idId && values[count] instanceof ViewId) {
+                        id = ((ViewId) values[count]).id;
+                    }
+                    count++;
+                }
+            }
+            if (count < size) {
+                ids = trim(ids, count);
+                values = trim(values, count);
+            }
+        }
+
+        plan = new LayoutPlan(parser, ids, values, children, stub, id);
+        plans.put(layout, plan);
+
+        if (parser instanceof IncludeParser) {
+            Layout include = context.getInclude(layout);
+            if (null != include) {
+                compile(context, idGenerator, include, plans);
+            }
+        }
+
+        for (Value value : values) {
+            compileNested(context, idGenerator, value, plans);
+        }
+
+        return plan;
+    }
+
+    private static void compileNested(@NonNull ProteusContext context, @NonNull IdGenerator idGenerator,
+                                      @NonNull Value value, @NonNull Map<Layout, LayoutPlan> plans) {
+        if (value.isLayout()) {
+            compile(context, idGenerator, value.getAsLayout(), plans);
+        } else if (value.isArray()) {
+            Iterator<Value> iterator = value.getAsArray().iterator();
+            while (iterator.hasNext()) {
+                compileNested(context, idGenerator, iterator.next(), plans);
+            }
+        } else if (value.isObject()) {
+            for (Map.Entry<String, Value> entry : value.getAsObject().entrySet()) {
+                compileNested(context, idGenerator, entry.getValue(), plans);
+            }
+        } else if (value instanceof NestedBinding) {
+            compileNested(context, idGenerator, ((NestedBinding) value).getValue(), plans);
+        }
+    }
+
+    private static int[] trim(int[] ids, int count) {
+        int[] trimmed = new int[count];
+        System.arraycopy(ids, 0, trimmed, 0, count);
+        return trimmed;
+    }
+
+    private static Value[] trim(Value[] values, int count) {
+        Value[] trimmed = new Value[count];
+        System.arraycopy(values, 0, trimmed, 0, count);
+        return trimmed;
+    }
+
+    /**
+     * @return the number of attributes in this plan which have a processor.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * @param index the index of the attribute in this plan, less than {@link #size()}.
+     * @return the value of the attribute, linked by its processor.
+     */
+    @NonNull
+    public Value getValue(int index) {
+        return values[index];
+    }
+}
@@ -123,6 +123,9 @@ public class ProteusBuilder {
     private Map<String, Proteus.Type> types = new HashMap<>();
     private HashMap<String, Function> formatters = new HashMap<>();
 
+    @Nullable
+    private BindingCache bindingCache;
+
     public ProteusBuilder() {
         DEFAULT_MODULE.registerWith(this);
     }
@@ -152,13 +155,22 @@ public class ProteusBuilder {
         return this;
     }
 
+    /**
+     * @param cache the cache for the bindings compiled by the built {@link Proteus}, instead of
+     *              a {@link SimpleBindingCache} of the default capacity.
+     */
+    public ProteusBuilder setBindingCache(@Nullable BindingCache cache) {
+        this.bindingCache = cache;
+        return this;
+    }
+
     @Nullable
     public Proteus.Type get(@NonNull String type) {
         return types.get(type);
     }
 
     public Proteus build() {
-        return new Proteus(types, formatters);
+        return new Proteus(types, formatters, null != bindingCache ? bindingCache : new SimpleBindingCache());
     }
 
     public interface Module {
@@ -31,6 +31,15 @@ public class ProteusConstants {
 
     public static final String DATA = "data";
     public static final String COLLECTION = "collection";
+    public static final String KEY = "key";
+    /**
+     * A layout with {@code "lazy": true} in its extras is replaced by a
+     * {@link com.flipkart.android.proteus.view.ProteusViewStub} while it is gone, and inflated
+     * when it becomes visible. The stub gets the static id of the layout, so looking the id up
+     * finds the stub until then; views inside the layout, and a bound id, are not found
+     * before the layout is inflated.
+     */
+    public static final String LAZY = "lazy";
 
     public static final String DATA_NULL = "null";
 
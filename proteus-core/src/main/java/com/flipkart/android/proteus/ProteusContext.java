@@ -27,7 +27,9 @@ import android.support.annotation.Nullable;
 import com.flipkart.android.proteus.value.Layout;
 import com.flipkart.android.proteus.value.Value;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * ProteusContext
@@ -46,15 +48,26 @@ public class ProteusContext extends ContextWrapper {
     @Nullable
     private final ProteusLayoutInflater.ImageLoader loader;
 
-    private ProteusLayoutInflater inflater;
+    @NonNull
+    private final ProteusViewPool pool;
+
+    private final AtomicLong applied = new AtomicLong();
+
+    private final AtomicLong skipped = new AtomicLong();
+
+    private final Map<Object, Object> extras = new HashMap<>();
+
+    private volatile ProteusLayoutInflater inflater;
 
     ProteusContext(Context base, @NonNull ProteusResources resources,
                    @Nullable ProteusLayoutInflater.ImageLoader loader,
-                   @Nullable ProteusLayoutInflater.Callback callback) {
+                   @Nullable ProteusLayoutInflater.Callback callback,
+                   @NonNull ProteusViewPool pool) {
         super(base);
         this.callback = callback;
         this.loader = loader;
         this.resources = resources;
+        this.pool = pool;
     }
 
     @Nullable
@@ -77,6 +90,11 @@ public class ProteusContext extends ContextWrapper {
         return resources.getLayout(name);
     }
 
+    @Nullable
+    public Layout getInclude(@NonNull Layout include) {
+        return resources.getInclude(include);
+    }
+
     @Nullable
     public ProteusLayoutInflater.ImageLoader getLoader() {
         return loader;
@@ -84,15 +102,23 @@ public class ProteusContext extends ContextWrapper {
 
     @NonNull
     public ProteusLayoutInflater getInflater(@NonNull IdGenerator idGenerator) {
-        if (null == this.inflater) {
-            this.inflater = new SimpleLayoutInflater(this, idGenerator);
+        ProteusLayoutInflater inflater = this.inflater;
+        if (null == inflater) {
+            synchronized (this) {
+                inflater = this.inflater;
+                if (null == inflater) {
+                    inflater = new SimpleLayoutInflater(this, idGenerator);
+                    this.inflater = inflater;
+                }
+            }
         }
-        return this.inflater;
+        return inflater;
     }
 
     @NonNull
     public ProteusLayoutInflater getInflater() {
-        return getInflater(new SimpleIdGenerator());
+        ProteusLayoutInflater inflater = this.inflater;
+        return null != inflater ? inflater : getInflater(new SimpleIdGenerator());
     }
 
     @Nullable
@@ -100,6 +126,11 @@ public class ProteusContext extends ContextWrapper {
         return resources.getParsers().get(type);
     }
 
+    @NonNull
+    public ProteusViewPool getViewPool() {
+        return pool;
+    }
+
     @NonNull
     public ProteusResources getProteusResources() {
         return resources;
@@ -110,6 +141,68 @@ public class ProteusContext extends ContextWrapper {
         return resources.getStyle(name);
     }
 
+    /**
+     * @param value  the value of a {@code style} attribute.
+     * @param parser the parser of the view the styles are applied to.
+     * @return the compiled attributes of the styles, empty if there are no styles.
+     */
+    @NonNull
+    public Layout.Attribute[] getStyle(@NonNull String value, @NonNull ViewTypeParser parser) {
+        return resources.getStyle(value, parser, this);
+    }
+
+    /**
+     * @param key the key of the extra.
+     * @return the extra stored under {@code key} on this context, or null.
+     */
+    @Nullable
+    public synchronized Object getExtra(@NonNull Object key) {
+        return extras.get(key);
+    }
+
+    /**
+     * Stores an object which lives as long as this context, like a pool shared by the views
+     * inflated with it. Extras are not shared with a {@link ProteusContextWrapper}.
+     *
+     * @param key   the key of the extra.
+     * @param value the extra, null to remove it.
+     */
+    public synchronized void putExtra(@NonNull Object key, @Nullable Object value) {
+        if (null == value) {
+            extras.remove(key);
+        } else {
+            extras.put(key, value);
+        }
+    }
+
+    void onBindingApplied() {
+        applied.incrementAndGet();
+    }
+
+    void onBindingSkipped() {
+        skipped.incrementAndGet();
+    }
+
+    /**
+     * @return the number of bound attributes applied on the views of this context.
+     */
+    public long getAppliedBindingCount() {
+        return applied.get();
+    }
+
+    /**
+     * @return the number of bound attributes not applied on the views of this context
+     * because their value had not changed.
+     */
+    public long getSkippedBindingCount() {
+        return skipped.get();
+    }
+
+    public void resetBindingCounts() {
+        applied.set(0);
+        skipped.set(0);
+    }
+
     /**
      * Builder
      *
@@ -138,6 +231,8 @@ public class ProteusContext extends ContextWrapper {
         @Nullable
         private StyleManager styleManager;
 
+        private int poolCapacity = ProteusViewPool.DEFAULT_CAPACITY;
+
         Builder(@NonNull Context context, @NonNull Map<String, ViewTypeParser> parsers, @NonNull FunctionManager functionManager) {
             this.base = context;
             this.parsers = parsers;
@@ -164,9 +259,16 @@ public class ProteusContext extends ContextWrapper {
             return this;
         }
 
+        public Builder setViewPoolCapacity(int capacity) {
+            this.poolCapacity = capacity;
+            return this;
+        }
+
         public ProteusContext build() {
             ProteusResources resources = new ProteusResources(parsers, layoutManager, functionManager, styleManager);
-            return new ProteusContext(base, resources, loader, callback);
+            ProteusViewPool pool = new ProteusViewPool(poolCapacity);
+            pool.register(base);
+            return new ProteusContext(base, resources, loader, callback, pool);
         }
 
     }
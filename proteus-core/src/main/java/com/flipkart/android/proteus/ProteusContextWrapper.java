@@ -26,6 +26,10 @@ package com.flipkart.android.proteus;
  * another ProteusContext. Can be subclassed to modify or to add new behavior
  * without changing the original ProteusContext.
  * </p>
+ * <p>
+ * The wrapper shares the {@link ProteusViewPool} of the context it wraps. Pooled views hold on
+ * to the context they were inflated with, so they are only reused by the same wrapper.
+ * </p>
  *
  * @author adityasharat
  */
@@ -33,6 +37,6 @@ package com.flipkart.android.proteus;
 public class ProteusContextWrapper extends ProteusContext {
 
     public ProteusContextWrapper(ProteusContext context) {
-        super(context, context.getProteusResources(), context.getLoader(), context.getCallback());
+        super(context, context.getProteusResources(), context.getLoader(), context.getCallback(), context.getViewPool());
     }
 }
@@ -95,6 +95,17 @@ public interface ProteusLayoutInflater {
     @NonNull
     ProteusView inflate(@NonNull String name, @NonNull ObjectValue data);
 
+    /**
+     * Compiles the {@link Layout} and all the layouts nested in it into {@link LayoutPlan}s.
+     * Compiled plans are cached against the layout, so this is a one-time cost per layout;
+     * calling this ahead of time moves that cost out of the first inflation.
+     *
+     * @param layout The {@link Layout} to compile.
+     * @return The {@link LayoutPlan} for the layout.
+     */
+    @NonNull
+    LayoutPlan compile(@NonNull Layout layout);
+
     /**
      * Returns the {@link ViewTypeParser} for the specified view type.
      *
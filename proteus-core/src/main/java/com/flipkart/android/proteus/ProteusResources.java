@@ -26,6 +26,7 @@ import com.flipkart.android.proteus.value.Layout;
 import com.flipkart.android.proteus.value.Value;
 
 import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * ProteusResources
@@ -47,6 +48,12 @@ public class ProteusResources {
     @Nullable
     private final StyleManager styleManager;
 
+    /**
+     * The resolved {@code include} nodes, against the node.
+     */
+    @NonNull
+    private final Map<Layout, Include> includes = new WeakHashMap<>();
+
     ProteusResources(@NonNull Map<String, ViewTypeParser> parsers, @Nullable LayoutManager layoutManager,
                      @NonNull FunctionManager functionManager, @Nullable StyleManager styleManager) {
         this.parsers = parsers;
@@ -70,6 +77,35 @@ public class ProteusResources {
         return null != layoutManager ? layoutManager.get(name) : null;
     }
 
+    /**
+     * Resolves an {@code include} node to the layout it names, merged with the attributes of
+     * the node. The merged layout is cached against the node, and built again only when the
+     * {@link LayoutManager} returns a different layout for the name.
+     *
+     * @param include the {@code include} node.
+     * @return the merged layout, or {@code null} if the node does not name a layout or the
+     * layout does not exist.
+     */
+    @Nullable
+    public Layout getInclude(@NonNull Layout include) {
+        Value name = null != include.extras ? include.extras.get(ProteusConstants.LAYOUT) : null;
+        if (null == name || !name.isPrimitive()) {
+            return null;
+        }
+        Layout layout = getLayout(name.getAsString());
+        if (null == layout) {
+            return null;
+        }
+        synchronized (includes) {
+            Include resolved = includes.get(include);
+            if (null == resolved || resolved.source != layout) {
+                resolved = new Include(layout, layout.merge(include));
+                includes.put(include, resolved);
+            }
+            return resolved.merged;
+        }
+    }
+
     @NonNull
     public Map<String, ViewTypeParser> getParsers() {
         return parsers;
@@ -79,4 +115,26 @@ public class ProteusResources {
     public Map<String, Value> getStyle(String name) {
         return null != styleManager ? styleManager.get(name) : null;
     }
+
+    /**
+     * @see StyleManager#compile(String, ViewTypeParser, ProteusContext)
+     */
+    @NonNull
+    public Layout.Attribute[] getStyle(@NonNull String value, @NonNull ViewTypeParser parser, @NonNull ProteusContext context) {
+        return null != styleManager ? styleManager.compile(value, parser, context) : StyleManager.EMPTY;
+    }
+
+    private static class Include {
+
+        @NonNull
+        final Layout source;
+
+        @NonNull
+        final Layout merged;
+
+        Include(@NonNull Layout source, @NonNull Layout merged) {
+            this.source = source;
+            this.merged = merged;
+        }
+    }
 }
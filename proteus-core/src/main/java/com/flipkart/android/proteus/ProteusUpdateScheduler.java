@@ -0,0 +1,265 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.Choreographer;
+
+import com.flipkart.android.proteus.value.ObjectValue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ProteusUpdateScheduler
+ * <p>
+ * Queues updates to {@link ProteusView}s and runs them at most once per frame. All the
+ * updates scheduled for a view before the next frame are merged into one: the latest non
+ * null data wins, the changed paths are merged, and a full update absorbs incremental ones. Updates
+ * can be scheduled from any thread; they are always run on the main thread.
+ * </p>
+ * <p>
+ * Schedule updates for the root of a tree; the tree is updated through its
+ * {@link ProteusView.Manager}.
+ * </p>
+ */
+public class ProteusUpdateScheduler {
+
+    private static final long FRAME_DELAY = 16;
+
+    @NonNull
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    @NonNull
+    private final Map<ProteusView, PendingUpdate> pending = new LinkedHashMap<>();
+
+    @NonNull
+    private final Runnable post = new Runnable() {
+        @Override
+        public void run() {
+            postFrame();
+        }
+    };
+
+    @NonNull
+    private final Runnable flush = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    @Nullable
+    private FrameCallback callback;
+
+    private boolean posted;
+
+    private long scheduled;
+
+    private long coalesced;
+
+    private long executed;
+
+    /**
+     * Schedules a full update of {@code view} with {@code data}.
+     *
+     * @param view the root of the tree to update.
+     * @param data the new data.
+     */
+    public void schedule(@NonNull ProteusView view, @Nullable ObjectValue data) {
+        schedule(view, data, null);
+    }
+
+    /**
+     * Schedules an update of {@code view} after {@code changedPaths} changed in {@code data}.
+     *
+     * @param view         the root of the tree to update.
+     * @param data         the data the view is bound to.
+     * @param changedPaths the paths which changed, {@code null} for a full update.
+     * @see ProteusView.Manager#update(ObjectValue, Collection)
+     */
+    public void schedule(@NonNull ProteusView view, @Nullable ObjectValue data, @Nullable Collection<String> changedPaths) {
+        synchronized (this) {
+            scheduled++;
+            PendingUpdate update = pending.get(view);
+            if (null == update) {
+                update = new PendingUpdate();
+                pending.put(view, update);
+            } else {
+                coalesced++;
+            }
+            update.merge(data, changedPaths);
+
+            if (posted) {
+                return;
+            }
+            posted = true;
+        }
+
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            postFrame();
+        } else {
+            handler.post(post);
+        }
+    }
+
+    /**
+     * Drops the pending update of {@code view}, if any.
+     *
+     * @param view the view whose update must be dropped.
+     */
+    public synchronized void cancel(@NonNull ProteusView view) {
+        pending.remove(view);
+    }
+
+    /**
+     * Runs all the pending updates right away. Must be called on the main thread.
+     */
+    public void flush() {
+        List<Map.Entry<ProteusView, PendingUpdate>> updates;
+        synchronized (this) {
+            posted = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            updates = new ArrayList<>(pending.entrySet());
+            pending.clear();
+            executed += updates.size();
+        }
+
+        handler.removeCallbacks(flush);
+        if (null != callback) {
+            callback.cancel();
+        }
+
+        ProteusView.Manager manager;
+        PendingUpdate update;
+        for (Map.Entry<ProteusView, PendingUpdate> entry : updates) {
+            manager = entry.getKey().getViewManager();
+            if (null == manager) {
+                continue;
+            }
+            update = entry.getValue();
+            if (null == update.changedPaths) {
+                manager.update(update.data);
+            } else {
+                manager.update(update.data, update.changedPaths);
+            }
+        }
+    }
+
+    /**
+     * @return the number of updates which were scheduled.
+     */
+    public synchronized long getScheduledCount() {
+        return scheduled;
+    }
+
+    /**
+     * @return the number of scheduled updates which were merged into a pending update.
+     */
+    public synchronized long getCoalescedCount() {
+        return coalesced;
+    }
+
+    /**
+     * @return the number of updates which were run.
+     */
+    public synchronized long getExecutedCount() {
+        return executed;
+    }
+
+    private void postFrame() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            if (null == callback) {
+                callback = new FrameCallback(this);
+            }
+            callback.post();
+        } else {
+            handler.postDelayed(flush, FRAME_DELAY);
+        }
+    }
+
+    /**
+     * The updates scheduled for a view since the last frame, merged into one.
+     */
+    static class PendingUpdate {
+
+        @Nullable
+        ObjectValue data;
+
+        /**
+         * The merged changed paths, {@code null} for a full update.
+         */
+        @Nullable
+        Set<String> changedPaths = new HashSet<>();
+
+        /**
+         * Merges an update scheduled after the ones already merged. Non null data replaces
+         * the merged data; {@code null} data keeps it, as {@link ProteusView.Manager#update(ObjectValue)}
+         * keeps the current data of the view when given {@code null}. The changed paths are
+         * dropped only when a full update is merged.
+         */
+        void merge(@Nullable ObjectValue data, @Nullable Collection<String> changedPaths) {
+            if (null != data) {
+                this.data = data;
+            }
+            if (null == changedPaths) {
+                this.changedPaths = null;
+            } else if (null != this.changedPaths) {
+                this.changedPaths.addAll(changedPaths);
+            }
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private static class FrameCallback implements Choreographer.FrameCallback {
+
+        @NonNull
+        private final ProteusUpdateScheduler scheduler;
+
+        FrameCallback(@NonNull ProteusUpdateScheduler scheduler) {
+            this.scheduler = scheduler;
+        }
+
+        void post() {
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+
+        void cancel() {
+            Choreographer.getInstance().removeFrameCallback(this);
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            scheduler.flush();
+        }
+    }
+}
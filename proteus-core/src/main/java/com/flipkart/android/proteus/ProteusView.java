@@ -26,6 +26,8 @@ import android.view.View;
 import com.flipkart.android.proteus.value.Layout;
 import com.flipkart.android.proteus.value.ObjectValue;
 
+import java.util.Collection;
+
 /**
  *
  */
@@ -51,6 +53,22 @@ public interface ProteusView {
          */
         void update(@Nullable ObjectValue data);
 
+        /**
+         * Update the {@link View} after the values at {@code changedPaths} in its data have
+         * changed. Only the bindings which read a changed path are evaluated again, and
+         * children which do not depend on them are skipped. The paths are the keys leading
+         * to the changed values joined by '.', for example {@code "user.address.city"}.
+         * <p>
+         * Skipped views keep referring to the data they were last bound to, hence this
+         * should be used when the changes were made to the same data the view is bound to;
+         * use {@link #update(ObjectValue)} when the data is replaced.
+         * </p>
+         *
+         * @param data         New data for the view
+         * @param changedPaths The paths in the data which changed
+         */
+        void update(@Nullable ObjectValue data, @NonNull Collection<String> changedPaths);
+
         /**
          * @return
          */
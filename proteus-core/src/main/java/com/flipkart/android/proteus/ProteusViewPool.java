@@ -0,0 +1,276 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.value.Layout;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * ProteusViewPool
+ * <p>
+ * Keeps detached {@link ProteusView} trees, keyed by the identity of the {@link Layout} they
+ * were inflated from, so that inflating the same {@link Layout} again can rebind an existing
+ * tree with new data instead of building a new one.
+ * </p>
+ * <p>
+ * Views are added to the pool through {@link #release(ProteusView)}, typically when a screen
+ * or a feed item is recycled. The pool holds at most {@link #getCapacity()} trees per layout.
+ * Only roots, inflated without a parent, are taken from the pool.
+ * </p>
+ * <p>
+ * Pooled views hold on to their {@link Context}, so the pool of a {@link ProteusContext} is
+ * {@link #register(Context) registered} to be cleared when the system asks the app to trim
+ * memory or the configuration changes. A {@link ProteusContextWrapper} shares the pool of the
+ * context it wraps, and the inflater only takes back the trees inflated with its own context.
+ * </p>
+ */
+public class ProteusViewPool implements ComponentCallbacks2 {
+
+    public static final int DEFAULT_CAPACITY = 4;
+
+    private final int capacity;
+
+    @NonNull
+    private final Map<Layout, ArrayDeque<ProteusView>> pool = new HashMap<>();
+
+    private long hits;
+
+    private long misses;
+
+    public ProteusViewPool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity the maximum number of trees kept per {@link Layout}.
+     */
+    public ProteusViewPool(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity cannot be negative: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Removes and returns a pooled tree which was inflated from {@code layout}.
+     *
+     * @param layout the {@link Layout} to look for.
+     * @return a detached {@link ProteusView} or {@code null} if there is none in the pool.
+     */
+    @Nullable
+    public ProteusView acquire(@NonNull Layout layout) {
+        return acquire(layout, null);
+    }
+
+    /**
+     * Removes and returns a pooled tree which was inflated from {@code layout} with
+     * {@code context}.
+     *
+     * @param layout  the {@link Layout} to look for.
+     * @param context the context the tree must have been inflated with, or {@code null} for any.
+     * @return a detached {@link ProteusView} or {@code null} if there is none in the pool.
+     */
+    @Nullable
+    public synchronized ProteusView acquire(@NonNull Layout layout, @Nullable ProteusContext context) {
+        ArrayDeque<ProteusView> views = pool.get(layout);
+        ProteusView view = null;
+        if (null != views) {
+            Iterator<ProteusView> iterator = views.iterator();
+            while (iterator.hasNext()) {
+                ProteusView candidate = iterator.next();
+                if (null == context || candidate.getViewManager().getContext() == context) {
+                    iterator.remove();
+                    view = candidate;
+                    break;
+                }
+            }
+            if (views.isEmpty()) {
+                pool.remove(layout);
+            }
+        }
+        if (null != view) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return view;
+    }
+
+    /**
+     * Detaches {@code view} from its parent and keeps it for reuse. The view is dropped if
+     * the pool already holds {@link #getCapacity()} trees for its layout.
+     *
+     * @param view the root of the tree to release.
+     * @return {@code true} if the view was added to the pool.
+     */
+    public boolean release(@NonNull ProteusView view) {
+        ProteusView.Manager manager = view.getViewManager();
+        if (null == manager || capacity == 0) {
+            return false;
+        }
+
+        View v = view.getAsView();
+        if (v.getParent() instanceof ViewGroup) {
+            ((ViewGroup) v.getParent()).removeView(v);
+        }
+
+        Layout layout = manager.getLayout();
+        synchronized (this) {
+            ArrayDeque<ProteusView> views = pool.get(layout);
+            if (null == views) {
+                views = new ArrayDeque<>(capacity);
+                pool.put(layout, views);
+            }
+            if (views.size() >= capacity) {
+                return false;
+            }
+            views.offer(view);
+            return true;
+        }
+    }
+
+    /**
+     * Drops all the pooled trees.
+     */
+    public synchronized void clear() {
+        pool.clear();
+    }
+
+    /**
+     * @return the total number of trees in the pool.
+     */
+    public synchronized int size() {
+        int size = 0;
+        for (ArrayDeque<ProteusView> views : pool.values()) {
+            size += views.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return the maximum number of trees kept per {@link Layout}.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the number of times {@link #acquire(Layout)} returned a pooled tree.
+     */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * @return the number of times {@link #acquire(Layout)} found nothing in the pool.
+     */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Clears this pool on the memory and configuration callbacks of the application of
+     * {@code context}. The registration only holds the pool weakly, and is removed on the
+     * first callback after the pool is collected.
+     */
+    public void register(@NonNull Context context) {
+        Context application = context.getApplicationContext();
+        if (null == application) {
+            application = context;
+        }
+        application.registerComponentCallbacks(new Registration(this, application));
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        clear();
+    }
+
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) {
+        // pooled views were built with the old configuration
+        clear();
+    }
+
+    @Override
+    public void onLowMemory() {
+        clear();
+    }
+
+    private static class Registration implements ComponentCallbacks2 {
+
+        @NonNull
+        private final WeakReference<ProteusViewPool> pool;
+
+        @NonNull
+        private final Context context;
+
+        Registration(@NonNull ProteusViewPool pool, @NonNull Context context) {
+            this.pool = new WeakReference<>(pool);
+            this.context = context;
+        }
+
+        @Nullable
+        private ProteusViewPool get() {
+            ProteusViewPool pool = this.pool.get();
+            if (null == pool) {
+                context.unregisterComponentCallbacks(this);
+            }
+            return pool;
+        }
+
+        @Override
+        public void onTrimMemory(int level) {
+            ProteusViewPool pool = get();
+            if (null != pool) {
+                pool.onTrimMemory(level);
+            }
+        }
+
+        @Override
+        public void onConfigurationChanged(Configuration newConfig) {
+            ProteusViewPool pool = get();
+            if (null != pool) {
+                pool.onConfigurationChanged(newConfig);
+            }
+        }
+
+        @Override
+        public void onLowMemory() {
+            ProteusViewPool pool = get();
+            if (null != pool) {
+                pool.onLowMemory();
+            }
+        }
+    }
+}
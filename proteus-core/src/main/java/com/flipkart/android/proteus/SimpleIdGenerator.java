@@ -23,13 +23,16 @@ import android.os.Parcel;
 import android.os.Parcelable;
 
 import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * SimpleIdGenerator
  * <p>
  * <p>
- * An built in implementation of {@link IdGenerator} interface
+ * An built in implementation of {@link IdGenerator} interface. It does not lock, so
+ * concurrent inflations do not contend for it.
  * </p>
  *
  * @author aditya.sharat
@@ -46,7 +49,7 @@ public class SimpleIdGenerator implements IdGenerator {
             return new SimpleIdGenerator[size];
         }
     };
-    private final HashMap<String, Integer> idMap = new HashMap<>();
+    private final ConcurrentHashMap<String, Integer> idMap = new ConcurrentHashMap<>();
     private final AtomicInteger sNextGeneratedId;
 
     public SimpleIdGenerator() {
@@ -54,8 +57,24 @@ public class SimpleIdGenerator implements IdGenerator {
     }
 
     public SimpleIdGenerator(Parcel source) {
-        sNextGeneratedId = new AtomicInteger(source.readInt());
-        source.readMap(idMap, null);
+        this(source.readInt(), readIds(source));
+    }
+
+    /**
+     * Restores a generator from the state it writes to a {@link Parcel}.
+     *
+     * @param next the next id to generate.
+     * @param ids  the ids generated for each key.
+     */
+    SimpleIdGenerator(int next, Map<String, Integer> ids) {
+        sNextGeneratedId = new AtomicInteger(next);
+        idMap.putAll(ids);
+    }
+
+    private static Map<String, Integer> readIds(Parcel source) {
+        HashMap<String, Integer> map = new HashMap<>();
+        source.readMap(map, null);
+        return map;
     }
 
     /**
@@ -67,8 +86,24 @@ public class SimpleIdGenerator implements IdGenerator {
      */
     @Override
     public void writeToParcel(Parcel dest, int flags) {
-        dest.writeInt(sNextGeneratedId.get());
-        dest.writeMap(idMap);
+        // copy the ids before reading the counter, so that every copied id is below it
+        Map<String, Integer> map = getIds();
+        dest.writeInt(getNextId());
+        dest.writeMap(map);
+    }
+
+    /**
+     * @return a copy of the ids generated for each key.
+     */
+    Map<String, Integer> getIds() {
+        return new HashMap<>(idMap);
+    }
+
+    /**
+     * @return the next id to generate.
+     */
+    int getNextId() {
+        return sNextGeneratedId.get();
     }
 
     /**
@@ -80,12 +115,15 @@ public class SimpleIdGenerator implements IdGenerator {
      * @return a unique ID integer for use with {@link android.view.View#setId(int)}.
      */
     @Override
-    public synchronized int getUnique(String idKey) {
+    public int getUnique(String idKey) {
         Integer existingId = idMap.get(idKey);
         if (existingId == null) {
-            int newId = generateViewId();
-            idMap.put(idKey, newId);
-            existingId = newId;
+            // if another thread generated an id for the key first, its id wins
+            Integer newId = generateViewId();
+            existingId = idMap.putIfAbsent(idKey, newId);
+            if (existingId == null) {
+                existingId = newId;
+            }
         }
         return existingId;
     }
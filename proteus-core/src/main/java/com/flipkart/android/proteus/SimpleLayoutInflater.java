@@ -22,14 +22,19 @@ package com.flipkart.android.proteus;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.util.Log;
+import android.view.View;
 import android.view.ViewGroup;
 
 import com.flipkart.android.proteus.exceptions.ProteusInflateException;
+import com.flipkart.android.proteus.parser.IncludeParser;
+import com.flipkart.android.proteus.view.ProteusViewStub;
 import com.flipkart.android.proteus.value.Layout;
 import com.flipkart.android.proteus.value.ObjectValue;
 import com.flipkart.android.proteus.value.Value;
 
-import java.util.Iterator;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * A layout builder which can parse json to construct an android view out of it. It uses the
@@ -45,6 +50,9 @@ public class SimpleLayoutInflater implements ProteusLayoutInflater {
     @NonNull
     protected final IdGenerator idGenerator;
 
+    @NonNull
+    private final Map<Layout, LayoutPlan> plans = new WeakHashMap<>();
+
     SimpleLayoutInflater(@NonNull ProteusContext context, @NonNull IdGenerator idGenerator) {
         this.context = context;
         this.idGenerator = idGenerator;
@@ -59,11 +67,64 @@ public class SimpleLayoutInflater implements ProteusLayoutInflater {
     @NonNull
     @Override
     public ProteusView inflate(@NonNull Layout layout, @NonNull ObjectValue data, @Nullable ViewGroup parent, int dataIndex) {
+        return inflate(layout, data, parent, dataIndex, null, true);
+    }
+
+    /**
+     * Inflates {@code layout} a few views per frame, so that inflating a large layout does not
+     * drop frames. The root is inflated right away and returned by
+     * {@link ChunkedInflation#getRoot()}; its static children are then inflated breadth first,
+     * each level top to bottom, in chunks which fit in {@code budget} milliseconds per frame.
+     * Must be called on the main thread.
+     *
+     * @param layout    The layout to inflate.
+     * @param data      The data to bind the layout to.
+     * @param parent    The parent the root will be added to.
+     * @param dataIndex The index of the data.
+     * @param budget    The time, in milliseconds, to spend inflating in each frame.
+     * @param listener  Notified when the whole tree is inflated.
+     * @return The inflation, which can be used to get the root or cancel it.
+     */
+    @NonNull
+    public ChunkedInflation inflateInChunks(@NonNull Layout layout, @NonNull ObjectValue data, @Nullable ViewGroup parent,
+                                           int dataIndex, long budget, @Nullable ChunkedInflation.Listener listener) {
+        ChunkedInflation inflation = new ChunkedInflation(this, budget, listener);
+        inflation.start(layout, data, parent, dataIndex);
+        return inflation;
+    }
+
+    /**
+     * Inflates {@code layout}. If {@code chunk} is not {@code null}, the static children of the
+     * layout are not inflated but deferred to it. If {@code stub} is {@code true}, a layout
+     * which is gone is replaced by a stub.
+     */
+    @NonNull
+    ProteusView inflate(@NonNull Layout layout, @NonNull ObjectValue data, @Nullable ViewGroup parent, int dataIndex,
+                        @Nullable ChunkedInflation chunk, boolean stub) {
+
+        /*
+         * Reuse a released tree of this layout if there is one. Only roots are pooled: the
+         * layout params and the data context of a child depend on its parent, which a pooled
+         * tree was not set up for. A tree is released under the layout of its root, which
+         * for an include is the merged layout, so the merged layout is inflated instead.
+         */
+        if (null == parent && null == chunk) {
+            layout = getIncluded(layout);
+            final ProteusView pooled = context.getViewPool().acquire(layout, context);
+            if (pooled != null) {
+                return rebind(pooled, data, dataIndex);
+            }
+        }
+
+        /*
+         * Get the compiled plan for this layout
+         */
+        final LayoutPlan plan = compile(layout);
 
         /*
          * Get the the view type parser for this layout type
          */
-        final ViewTypeParser parser = getParser(layout.type);
+        final ViewTypeParser parser = plan.parser;
         if (parser == null) {
             /*
              * If parser is not registered ask the application land for the view
@@ -71,6 +132,47 @@ public class SimpleLayoutInflater implements ProteusLayoutInflater {
             return onUnknownViewEncountered(layout.type, layout, data, dataIndex);
         }
 
+        /*
+         * Insert a stub instead of a subtree which is gone
+         */
+        if (stub && null != plan.stub && parent instanceof ProteusView) {
+            ProteusView view = createStub(parser, plan.stub, layout, data, parent, dataIndex);
+            if (null != view) {
+                if (View.NO_ID != plan.id) {
+                    view.getAsView().setId(plan.id);
+                }
+                return view;
+            }
+        }
+
+        return create(plan, parser, layout, data, parent, parent, dataIndex, chunk);
+    }
+
+    /**
+     * Inflates {@code layout} for {@link AsyncProteusLayoutInflater}, off the main thread. The
+     * view pool is not used and gone layouts are not stubbed. {@code parent} is only used to
+     * generate the layout params of the root; its data context is created from {@code data}
+     * alone, so that the state of {@code parent} is never read.
+     */
+    @NonNull
+    ProteusView inflateDetached(@NonNull Layout layout, @NonNull ObjectValue data, @Nullable ViewGroup parent, int dataIndex) {
+        final LayoutPlan plan = compile(layout);
+        final ViewTypeParser parser = plan.parser;
+        if (parser == null) {
+            return onUnknownViewEncountered(layout.type, layout, data, dataIndex);
+        }
+        return create(plan, parser, layout, data, parent, null, dataIndex, null);
+    }
+
+    /**
+     * Creates the view for {@code plan} and applies its attributes. The view gets its layout
+     * params from {@code parent} and inherits the data context of {@code scope}.
+     */
+    @NonNull
+    private ProteusView create(@NonNull LayoutPlan plan, @NonNull ViewTypeParser parser, @NonNull Layout layout,
+                               @NonNull ObjectValue data, @Nullable ViewGroup parent, @Nullable ViewGroup scope,
+                               int dataIndex, @Nullable ChunkedInflation chunk) {
+
         /*
          * Create a view of {@code layout.type}
          */
@@ -86,7 +188,7 @@ public class SimpleLayoutInflater implements ProteusLayoutInflater {
             /*
              * Create View Manager for {@code layout.type}
              */
-            final ProteusView.Manager viewManager = createViewManager(parser, view, layout, data, parent, dataIndex);
+            final ProteusView.Manager viewManager = createViewManager(parser, view, layout, data, scope, dataIndex);
 
             /*
              * Set the View Manager on the view.
@@ -97,13 +199,12 @@ public class SimpleLayoutInflater implements ProteusLayoutInflater {
         /*
          * Handle each attribute and set it on the view.
          */
-        if (layout.attributes != null) {
-            Iterator<Layout.Attribute> iterator = layout.attributes.iterator();
-            Layout.Attribute attribute;
-            while (iterator.hasNext()) {
-                attribute = iterator.next();
-                handleAttribute(parser, view, attribute.id, attribute.value);
+        for (int index = 0; index < plan.size(); index++) {
+            if (null != chunk && index == plan.children) {
+                chunk.defer(parser, view, plan.values[index].getAsArray());
+                continue;
             }
+            handleAttribute(parser, view, plan.ids[index], plan.values[index]);
         }
 
         return view;
@@ -143,6 +244,29 @@ public class SimpleLayoutInflater implements ProteusLayoutInflater {
         return inflate(name, data, null, -1);
     }
 
+    /**
+     * Every node of a layout is compiled when it is inflated, so the plan of the last inflater
+     * is kept on the {@link Layout} itself, which avoids locking and looking up the plans on
+     * every node. The map is only used when the layout was last compiled by another inflater.
+     */
+    @NonNull
+    @Override
+    public LayoutPlan compile(@NonNull Layout layout) {
+        Object cached = layout.getPlan();
+        if (cached instanceof CachedPlan && ((CachedPlan) cached).get() == this) {
+            return ((CachedPlan) cached).plan;
+        }
+        LayoutPlan plan;
+        synchronized (plans) {
+            plan = plans.get(layout);
+            if (null == plan) {
+                plan = LayoutPlan.compile(context, idGenerator, layout, plans);
+            }
+        }
+        layout.setPlan(new CachedPlan(this, plan));
+        return plan;
+    }
+
     @Override
     public int getUniqueViewId(@NonNull String id) {
         return idGenerator.getUnique(id);
@@ -154,6 +278,55 @@ public class SimpleLayoutInflater implements ProteusLayoutInflater {
         return idGenerator;
     }
 
+    /**
+     * @return the layout {@code layout} includes, merged with it, or {@code layout} if it is not
+     * an include.
+     */
+    @NonNull
+    private Layout getIncluded(@NonNull Layout layout) {
+        Layout merged;
+        while (context.getParser(layout.type) instanceof IncludeParser && null != (merged = context.getInclude(layout))) {
+            layout = merged;
+        }
+        return layout;
+    }
+
+    /**
+     * Binds a pooled root to new data. Only the bound attributes are re-applied, since static
+     * attributes are the same for every tree of the same {@link Layout}, and the data context
+     * of a root only depends on its data.
+     */
+    @NonNull
+    protected ProteusView rebind(@NonNull ProteusView view, @NonNull ObjectValue data, int dataIndex) {
+        ProteusView.Manager manager = view.getViewManager();
+        manager.getDataContext().setIndex(dataIndex);
+        manager.update(data);
+        return view;
+    }
+
+    /**
+     * Creates a {@link ProteusViewStub} for {@code layout} if {@code visibility} resolves to gone.
+     * The layout is inflated in place of the stub when it becomes visible.
+     *
+     * @return the stub, or {@code null} if the layout is not gone.
+     */
+    @Nullable
+    protected ProteusView createStub(@NonNull ViewTypeParser parser, @NonNull Layout.Attribute visibility, @NonNull Layout layout,
+                                     @NonNull ObjectValue data, @NonNull ViewGroup parent, int dataIndex) {
+        DataContext dataContext = parser.createDataContext(context, layout, data, parent, dataIndex);
+        Value value = visibility.value;
+        if (value.isBinding()) {
+            value = value.getAsBinding().evaluate(context, dataContext.getData(), dataContext.getIndex());
+        }
+        if (!ViewStubManager.isGone(value)) {
+            return null;
+        }
+        ProteusViewStub stub = new ProteusViewStub(context);
+        onAfterCreateView(parser, stub, parent, dataIndex);
+        stub.setViewManager(new ViewStubManager(context, parser, stub, layout, visibility, dataContext));
+        return stub;
+    }
+
     protected ProteusView createView(@NonNull ViewTypeParser parser, @NonNull Layout layout, @NonNull ObjectValue data,
                                      @Nullable ViewGroup parent, int dataIndex) {
         return parser.createView(context, layout, data, parent, dataIndex);
@@ -183,6 +356,10 @@ public class SimpleLayoutInflater implements ProteusLayoutInflater {
         throw new ProteusInflateException("Layout contains type: 'include' but inflater callback is null");
     }
 
+    /**
+     * Applies a static attribute of a layout being inflated, through
+     * {@link ViewTypeParser#handleAttribute}.
+     */
     protected boolean handleAttribute(@NonNull ViewTypeParser parser, @NonNull ProteusView view, int attribute, @NonNull Value value) {
         if (ProteusConstants.isLoggingEnabled()) {
             Log.d(TAG, "Handle '" + attribute + "' : " + value);
@@ -190,4 +367,19 @@ public class SimpleLayoutInflater implements ProteusLayoutInflater {
         //noinspection unchecked
         return parser.handleAttribute(view.getAsView(), attribute, value);
     }
+
+    /**
+     * A plan cached on its {@link Layout}, with the inflater it was compiled by. The inflater
+     * is held weakly, since layouts can outlive it.
+     */
+    private static class CachedPlan extends WeakReference<SimpleLayoutInflater> {
+
+        @NonNull
+        final LayoutPlan plan;
+
+        CachedPlan(@NonNull SimpleLayoutInflater inflater, @NonNull LayoutPlan plan) {
+            super(inflater);
+            this.plan = plan;
+        }
+    }
 }
@@ -22,8 +22,13 @@ package com.flipkart.android.proteus;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
+import com.flipkart.android.proteus.processor.AttributeProcessor;
+import com.flipkart.android.proteus.value.Layout;
 import com.flipkart.android.proteus.value.Value;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -32,6 +37,18 @@ import java.util.Map;
  * @author adityasharat
  */
 public abstract class StyleManager {
+
+    static final Layout.Attribute[] EMPTY = new Layout.Attribute[0];
+
+    /**
+     * The compiled styles, against the parser they were compiled for and the style value.
+     */
+    @NonNull
+    private final Map<ViewTypeParser, Map<String, Layout.Attribute[]>> compiled = new HashMap<>();
+
+    @Nullable
+    private Styles compiledFrom;
+
     @Nullable
     protected abstract Styles getStyles();
 
@@ -39,4 +56,72 @@ public abstract class StyleManager {
     public Map<String, Value> get(@NonNull String name) {
         return null != getStyles() ? getStyles().get(name) : null;
     }
+
+    /**
+     * Returns the styles named in {@code value}, separated by {@link ProteusConstants#STYLE_DELIMITER},
+     * as attributes of {@code parser} with precompiled values, in the order they must be
+     * applied. Compiled styles are cached for each parser and value, and dropped when
+     * {@link #getStyles()} returns different styles.
+     * <p>
+     * Styles are applied once and are not updated with the data, so values which would
+     * compile to bindings are kept as they are written in the style.
+     * </p>
+     *
+     * @param value   the value of a {@code style} attribute.
+     * @param parser  the parser of the view the styles are applied to.
+     * @param context the context to precompile the values with.
+     * @return the attributes to apply, empty if there are no such styles.
+     */
+    @NonNull
+    public Layout.Attribute[] compile(@NonNull String value, @NonNull ViewTypeParser parser, @NonNull ProteusContext context) {
+        Styles styles = getStyles();
+        synchronized (compiled) {
+            if (styles != compiledFrom) {
+                compiled.clear();
+                compiledFrom = styles;
+            }
+            Map<String, Layout.Attribute[]> cache = compiled.get(parser);
+            if (null == cache) {
+                cache = new HashMap<>();
+                compiled.put(parser, cache);
+            }
+            Layout.Attribute[] attributes = cache.get(value);
+            if (null == attributes) {
+                attributes = compile(value.split(ProteusConstants.STYLE_DELIMITER), parser, context);
+                cache.put(value, attributes);
+            }
+            return attributes;
+        }
+    }
+
+    /**
+     * Drops the compiled styles. Must be called when the styles are changed in place.
+     */
+    public void invalidate() {
+        synchronized (compiled) {
+            compiled.clear();
+        }
+    }
+
+    @NonNull
+    private Layout.Attribute[] compile(@NonNull String[] names, @NonNull ViewTypeParser parser, @NonNull ProteusContext context) {
+        List<Layout.Attribute> attributes = new ArrayList<>();
+        for (String name : names) {
+            Map<String, Value> style = get(name);
+            if (null == style) {
+                continue;
+            }
+            for (Map.Entry<String, Value> entry : style.entrySet()) {
+                int id = parser.getAttributeId(entry.getKey());
+                AttributeProcessor processor = parser.getAttributeProcessor(id);
+                if (null == processor) {
+                    continue;
+                }
+                Value value = entry.getValue();
+                Value compiled = processor.precompile(value, context, context.getFormatterManager());
+                attributes.add(new Layout.Attribute(id, null != compiled && !compiled.isBinding() ? compiled : value));
+            }
+        }
+        return attributes.isEmpty() ? EMPTY : attributes.toArray(new Layout.Attribute[attributes.size()]);
+    }
 }
@@ -24,8 +24,13 @@ import android.support.annotation.Nullable;
 import android.view.View;
 import android.view.ViewGroup;
 
+import com.flipkart.android.proteus.toolbox.Attributes;
 import com.flipkart.android.proteus.value.Layout;
 import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Value;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * ViewGroupManager
@@ -37,6 +42,14 @@ public class ViewGroupManager extends ViewManager {
 
     public boolean hasDataBoundChildren;
 
+    /**
+     * The keys of the data bound children, in order, when the children are keyed.
+     */
+    @Nullable
+    public List<Value> dataBoundChildKeys;
+
+    private int dependenciesChildCount;
+
     public ViewGroupManager(@NonNull ProteusContext context, @NonNull ViewTypeParser parser,
                             @NonNull View view, @NonNull Layout layout, @NonNull DataContext dataContext) {
         super(context, parser, view, layout, dataContext);
@@ -60,4 +73,79 @@ public class ViewGroupManager extends ViewManager {
             }
         }
     }
+
+    @Override
+    protected void onUpdate(@NonNull Collection<String> changedPaths) {
+        super.onUpdate(changedPaths);
+        // update the child views which depend on the changed paths, data bound
+        // children are also visited since they can read paths outside the collection,
+        // unless the children attribute was applied again and has updated them
+        if (view instanceof ViewGroup && !(hasDataBoundChildren && isChildrenAffected(changedPaths))) {
+            ViewGroup parent = (ViewGroup) view;
+            int count = parent.getChildCount();
+            View child;
+            ProteusView.Manager manager;
+
+            for (int index = 0; index < count; index++) {
+                child = parent.getChildAt(index);
+                if (child instanceof ProteusView) {
+                    manager = ((ProteusView) child).getViewManager();
+                    if (manager instanceof ViewManager && !((ViewManager) manager).dependsOn(changedPaths)) {
+                        continue;
+                    }
+                    manager.update(dataContext.getData(), changedPaths);
+                }
+            }
+        }
+    }
+
+    private boolean isChildrenAffected(@NonNull Collection<String> changedPaths) {
+        if (null == boundAttributes) {
+            return false;
+        }
+        int children = parser.getAttributeId(Attributes.ViewGroup.Children);
+        for (BoundAttribute boundAttribute : boundAttributes) {
+            if (boundAttribute.attributeId == children) {
+                return boundAttribute.isAffected(changedPaths);
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    @Override
+    public Collection<String> getDependencies() {
+        if (view instanceof ViewGroup && ((ViewGroup) view).getChildCount() != dependenciesChildCount) {
+            invalidateDependencies();
+        }
+        return super.getDependencies();
+    }
+
+    @Nullable
+    @Override
+    protected Collection<String> collectDependencies() {
+        Collection<String> paths = super.collectDependencies();
+        if (null == paths || !(view instanceof ViewGroup)) {
+            return paths;
+        }
+        ViewGroup parent = (ViewGroup) view;
+        int count = parent.getChildCount();
+        View child;
+        ProteusView.Manager manager;
+        Collection<String> dependencies;
+
+        for (int index = 0; index < count; index++) {
+            child = parent.getChildAt(index);
+            if (child instanceof ProteusView) {
+                manager = ((ProteusView) child).getViewManager();
+                dependencies = manager instanceof ViewManager ? ((ViewManager) manager).getDependencies() : null;
+                if (null == dependencies) {
+                    return null;
+                }
+                paths.addAll(dependencies);
+            }
+        }
+        dependenciesChildCount = count;
+        return paths;
+    }
 }
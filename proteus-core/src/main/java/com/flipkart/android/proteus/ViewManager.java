@@ -21,13 +21,24 @@ package com.flipkart.android.proteus;
 
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.util.SparseArray;
 import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
 
+import com.flipkart.android.proteus.processor.AttributeProcessor;
+import com.flipkart.android.proteus.value.Binding;
 import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.Observable;
 import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.ObservableObjectValue;
+import com.flipkart.android.proteus.value.Value;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * ViewManager
@@ -54,6 +65,24 @@ public class ViewManager implements ProteusView.Manager {
     @Nullable
     protected final List<BoundAttribute> boundAttributes;
 
+    @Nullable
+    private Collection<String> dependencies;
+
+    private boolean hasDependencies;
+
+    @Nullable
+    private ViewIndex viewIndex;
+
+    @Nullable
+    private BindingObserver[] observers;
+
+    @Nullable
+    private ObservableObjectValue observed;
+
+    private boolean attached;
+
+    private boolean stale;
+
     public ViewManager(@NonNull ProteusContext context, @NonNull ViewTypeParser parser,
                        @NonNull View view, @NonNull Layout layout, @NonNull DataContext dataContext) {
         this.context = context;
@@ -77,6 +106,10 @@ public class ViewManager implements ProteusView.Manager {
         } else {
             this.boundAttributes = null;
         }
+
+        if (null != this.boundAttributes) {
+            view.addOnAttachStateChangeListener(new AttachStateListener());
+        }
     }
 
     @Override
@@ -94,6 +127,132 @@ public class ViewManager implements ProteusView.Manager {
         }
     }
 
+    @Override
+    public void update(@Nullable ObjectValue data, @NonNull Collection<String> changedPaths) {
+        // update the data context so all child views can refer to new data
+        if (data != null) {
+            updateDataContext(data);
+        }
+
+        onUpdate(dataContext.getChangedPaths(changedPaths));
+    }
+
+    /**
+     * Re-applies the bound attributes which read any of {@code changedPaths}.
+     *
+     * @param changedPaths the paths which changed in the data of this view's {@link DataContext}.
+     */
+    protected void onUpdate(@NonNull Collection<String> changedPaths) {
+        if (this.boundAttributes != null) {
+            for (BoundAttribute boundAttribute : this.boundAttributes) {
+                if (boundAttribute.isAffected(changedPaths)) {
+                    this.handleBinding(boundAttribute);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param changedPaths the paths which changed in the data passed to {@link #update(ObjectValue, Collection)}.
+     * @return {@code true} if this view or any of its children read any of the changed paths.
+     */
+    public boolean dependsOn(@NonNull Collection<String> changedPaths) {
+        Collection<String> dependencies = getDependencies();
+        if (null == dependencies) {
+            return true;
+        }
+        for (String path : dependencies) {
+            if (Binding.isAffected(path, changedPaths)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the paths, in the data passed to {@link #update(ObjectValue, Collection)}, read by this
+     * view and its children, or {@code null} if they are not known.
+     */
+    @Nullable
+    public Collection<String> getDependencies() {
+        if (!hasDependencies) {
+            Collection<String> paths = collectDependencies();
+            dependencies = null != paths ? dataContext.getIncomingPaths(paths) : null;
+            hasDependencies = true;
+        }
+        return dependencies;
+    }
+
+    /**
+     * Discards the cached dependencies of this view and its parents. Must be called when
+     * a child is added to or removed from this view.
+     */
+    public void invalidateDependencies() {
+        if (!hasDependencies) {
+            // the parents cannot have computed theirs either
+            return;
+        }
+        hasDependencies = false;
+        dependencies = null;
+        ViewParent parent = view.getParent();
+        if (parent instanceof ProteusView) {
+            ProteusView.Manager manager = ((ProteusView) parent).getViewManager();
+            if (manager instanceof ViewManager) {
+                ((ViewManager) manager).invalidateDependencies();
+            }
+        }
+    }
+
+    /**
+     * Adds {@code child} and its subtree to the view index of this view and of its parents.
+     * Must be called when a view is added to this tree, or when the id of a view in this
+     * tree changes, since ids which are not in the index are not looked up in the tree.
+     *
+     * @param child the view which was added to this tree, or whose id changed.
+     */
+    public void index(@NonNull View child) {
+        View current = view;
+        ViewParent parent;
+        ProteusView.Manager manager;
+        while (true) {
+            manager = current instanceof ProteusView ? ((ProteusView) current).getViewManager() : null;
+            if (manager instanceof ViewManager && null != ((ViewManager) manager).viewIndex) {
+                ((ViewManager) manager).viewIndex.add(child);
+            }
+            parent = current.getParent();
+            if (!(parent instanceof View)) {
+                return;
+            }
+            current = (View) parent;
+        }
+    }
+
+    /**
+     * @return {@code false} if the children of this view are added by the view itself, like
+     * the rows of a list, and so cannot be kept in the view index.
+     */
+    protected boolean isIndexingChildren() {
+        return true;
+    }
+
+    /**
+     * @return the paths, in the data of this view's {@link DataContext}, read by this view
+     * and its children, or {@code null} if they are not known.
+     */
+    @Nullable
+    protected Collection<String> collectDependencies() {
+        Set<String> paths = new HashSet<>();
+        if (this.boundAttributes != null) {
+            for (BoundAttribute boundAttribute : this.boundAttributes) {
+                if (null == boundAttribute.paths) {
+                    return null;
+                }
+                paths.addAll(boundAttribute.paths);
+            }
+        }
+        return paths;
+    }
+
     @NonNull
     @Override
     public ProteusContext getContext() {
@@ -111,22 +270,249 @@ public class ViewManager implements ProteusView.Manager {
         return dataContext;
     }
 
+    /**
+     * Finds a view in this tree through an index of the views by their id, built on first use
+     * and kept up to date through {@link #index(View)}. An id which is not in the index is only
+     * looked up in the views which do not index their children. A view which was removed from
+     * the tree, or whose id changed, since it was indexed is looked up again.
+     */
     @Nullable
     @Override
     public View findViewById(@NonNull String id) {
-        return view.findViewById(context.getInflater().getUniqueViewId(id));
+        int viewId = context.getInflater().getUniqueViewId(id);
+        if (null == viewIndex) {
+            viewIndex = new ViewIndex();
+            viewIndex.add(view);
+        }
+        View found = viewIndex.views.get(viewId);
+        if (null != found) {
+            if (found.getId() == viewId && isInTree(found)) {
+                return found;
+            }
+            found = view.findViewById(viewId);
+            if (null != found) {
+                viewIndex.views.put(viewId, found);
+            } else {
+                viewIndex.views.remove(viewId);
+            }
+            return found;
+        }
+        for (View container : viewIndex.containers) {
+            if (isInTree(container)) {
+                found = container.findViewById(viewId);
+                if (null != found) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean isInTree(@NonNull View found) {
+        View current = found;
+        ViewParent parent;
+        while (current != view) {
+            parent = current.getParent();
+            if (!(parent instanceof View)) {
+                return false;
+            }
+            current = (View) parent;
+        }
+        return true;
     }
 
-    private void updateDataContext(ObjectValue data) {
+    protected void updateDataContext(ObjectValue data) {
         if (dataContext.isClone()) {
             dataContext.setData(data);
         } else {
             dataContext.updateDataContext(context, data);
         }
+        if (attached) {
+            observe();
+        }
+    }
+
+    /**
+     * Subscribes each bound attribute to the paths it reads if the data of this view is an
+     * {@link ObservableObjectValue}, so that it is applied again as soon as they change, on
+     * the thread which changes them.
+     * Data of scoped {@link DataContext}s is never observable, such views are updated
+     * through {@link #update(ObjectValue)}.
+     */
+    private void observe() {
+        ObjectValue data = dataContext.getData();
+        if (data == observed) {
+            return;
+        }
+        unobserve();
+        if (!(data instanceof ObservableObjectValue) || null == boundAttributes) {
+            return;
+        }
+        if (null == observers) {
+            observers = new BindingObserver[boundAttributes.size()];
+            for (int i = 0; i < observers.length; i++) {
+                observers[i] = new BindingObserver(boundAttributes.get(i));
+            }
+        }
+        observed = (ObservableObjectValue) data;
+        for (BindingObserver observer : observers) {
+            if (null == observer.boundAttribute.paths) {
+                observed.subscribe("", observer);
+            } else {
+                for (String path : observer.boundAttribute.paths) {
+                    observed.subscribe(path, observer);
+                }
+            }
+        }
+    }
+
+    private void unobserve() {
+        if (null == observed || null == observers) {
+            return;
+        }
+        for (BindingObserver observer : observers) {
+            if (null == observer.boundAttribute.paths) {
+                observed.unsubscribe("", observer);
+            } else {
+                for (String path : observer.boundAttribute.paths) {
+                    observed.unsubscribe(path, observer);
+                }
+            }
+        }
+        observed = null;
+    }
+
+    /**
+     * Evaluates {@code boundAttribute} and applies it, unless its value is the same as the one
+     * last applied and its processor is idempotent.
+     */
+    void handleBinding(BoundAttribute boundAttribute) {
+        AttributeProcessor processor = parser.getAttributeProcessor(boundAttribute.attributeId);
+        if (null == processor) {
+            return;
+        }
+        Value value = processor.resolve(boundAttribute.binding, view.getContext(), dataContext.getData(), dataContext.getIndex());
+        if (null == value) {
+            boundAttribute.value = null;
+            context.onBindingApplied();
+            //noinspection unchecked
+            processor.handleBinding(view, boundAttribute.binding);
+        } else if (processor.isIdempotent() && BoundAttribute.isUnchanged(boundAttribute.value, value)) {
+            context.onBindingSkipped();
+        } else {
+            handleValue(processor, boundAttribute, value);
+        }
+    }
+
+    /**
+     * Applies an evaluated value of {@code boundAttribute}.
+     */
+    void handleValue(BoundAttribute boundAttribute, Value value) {
+        AttributeProcessor processor = parser.getAttributeProcessor(boundAttribute.attributeId);
+        if (null != processor) {
+            handleValue(processor, boundAttribute, value);
+        }
     }
 
-    private void handleBinding(BoundAttribute boundAttribute) {
+    private void handleValue(AttributeProcessor processor, BoundAttribute boundAttribute, Value value) {
+        boundAttribute.value = BoundAttribute.isRemembered(value) ? value : null;
+        context.onBindingApplied();
         //noinspection unchecked
-        parser.handleAttribute(view, boundAttribute.attributeId, boundAttribute.binding);
+        processor.handleValue(view, value);
+    }
+
+    /**
+     * Sets the data resolved for this view by a {@link BindPlan}.
+     */
+    void setData(ObjectValue data) {
+        dataContext.setData(data);
+        if (attached) {
+            observe();
+        }
+    }
+
+    /**
+     * Called after a {@link BindPlan} has applied new data to this view, in place of
+     * {@link #update(ObjectValue)}. Managers which do more on update than applying the bound
+     * attributes must do it here too.
+     */
+    protected void onPlanApplied() {
+    }
+
+    /**
+     * The views of a tree by their id, and the views which do not index their children.
+     */
+    private static class ViewIndex {
+
+        @NonNull
+        final SparseArray<View> views = new SparseArray<>();
+
+        @NonNull
+        final List<View> containers = new ArrayList<>();
+
+        /**
+         * Indexes the views in the same order as {@link View#findViewById(int)} visits them,
+         * so that the first of the views with the same id is found.
+         */
+        void add(@NonNull View view) {
+            int id = view.getId();
+            if (id != View.NO_ID) {
+                View indexed = views.get(id);
+                if (null == indexed || indexed.getId() != id) {
+                    views.put(id, view);
+                }
+            }
+            if (view instanceof ViewGroup) {
+                ProteusView.Manager manager = view instanceof ProteusView ? ((ProteusView) view).getViewManager() : null;
+                if (manager instanceof ViewManager && !((ViewManager) manager).isIndexingChildren()) {
+                    if (!containers.contains(view)) {
+                        containers.add(view);
+                    }
+                    return;
+                }
+                ViewGroup group = (ViewGroup) view;
+                for (int i = 0; i < group.getChildCount(); i++) {
+                    add(group.getChildAt(i));
+                }
+            }
+        }
+    }
+
+    private class BindingObserver implements Observable.OnChangeListener {
+
+        @NonNull
+        final BoundAttribute boundAttribute;
+
+        BindingObserver(@NonNull BoundAttribute boundAttribute) {
+            this.boundAttribute = boundAttribute;
+        }
+
+        @Override
+        public void onChange(@NonNull Observable source, @NonNull String path) {
+            handleBinding(boundAttribute);
+        }
+    }
+
+    private class AttachStateListener implements View.OnAttachStateChangeListener {
+
+        @Override
+        public void onViewAttachedToWindow(View v) {
+            attached = true;
+            observe();
+            if (stale && null != observed && null != boundAttributes) {
+                // changes made while detached were not observed
+                for (BoundAttribute boundAttribute : boundAttributes) {
+                    handleBinding(boundAttribute);
+                }
+            }
+            stale = false;
+        }
+
+        @Override
+        public void onViewDetachedFromWindow(View v) {
+            attached = false;
+            stale = null != observed;
+            unobserve();
+        }
     }
 }
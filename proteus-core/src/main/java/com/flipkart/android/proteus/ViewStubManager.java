@@ -0,0 +1,118 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+import com.flipkart.android.proteus.parser.ParseHelper;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Value;
+import com.flipkart.android.proteus.view.ProteusViewStub;
+
+import java.util.Collections;
+
+/**
+ * ViewStubManager
+ * <p>
+ * The manager of a {@link ProteusViewStub} standing in for a layout which is gone. Only the
+ * visibility of the layout is bound to the stub; when an update makes it visible, the layout
+ * is inflated and replaces the stub in its parent.
+ * </p>
+ */
+public class ViewStubManager extends ViewManager {
+
+    @NonNull
+    private final Layout target;
+
+    @Nullable
+    private ProteusView inflated;
+
+    public ViewStubManager(@NonNull ProteusContext context, @NonNull ViewTypeParser parser, @NonNull View view,
+                           @NonNull Layout layout, @NonNull Layout.Attribute visibility, @NonNull DataContext dataContext) {
+        super(context, parser, view, new Layout(layout.type, Collections.singletonList(visibility), null, null), dataContext);
+        this.target = layout;
+    }
+
+    /**
+     * @param value a visibility, as a number or any value the visibility attribute accepts.
+     * @return {@code true} if {@code value} resolves to {@link View#GONE}.
+     */
+    public static boolean isGone(@NonNull Value value) {
+        if (value.isPrimitive() && value.getAsPrimitive().isNumber()) {
+            return value.getAsInt() == View.GONE;
+        }
+        return (value.isPrimitive() || value.isNull()) && ParseHelper.parseVisibility(value) == View.GONE;
+    }
+
+    /**
+     * Inflates the layout and replaces the stub with it in its parent. Does nothing if the
+     * layout has already been inflated.
+     *
+     * @return the inflated view.
+     */
+    @NonNull
+    public ProteusView inflate() {
+        if (null != inflated) {
+            return inflated;
+        }
+
+        ViewParent viewParent = view.getParent();
+        if (!(viewParent instanceof ViewGroup)) {
+            throw new IllegalStateException("a stub must have a parent to be inflated");
+        }
+        ViewGroup parent = (ViewGroup) viewParent;
+        int index = parent.indexOfChild(view);
+
+        ObjectValue data = parent instanceof ProteusView ? ((ProteusView) parent).getViewManager().getDataContext().getData() : dataContext.getData();
+        ProteusLayoutInflater inflater = context.getInflater();
+        if (inflater instanceof SimpleLayoutInflater) {
+            inflated = ((SimpleLayoutInflater) inflater).inflate(target, data, parent, dataContext.getIndex(), null, false);
+        } else {
+            inflated = inflater.inflate(target, data, parent, dataContext.getIndex());
+        }
+
+        parent.removeViewAt(index);
+        parent.addView(inflated.getAsView(), index);
+        if (parent instanceof ProteusView && ((ProteusView) parent).getViewManager() instanceof ViewManager) {
+            ((ViewManager) ((ProteusView) parent).getViewManager()).invalidateDependencies();
+            ((ViewManager) ((ProteusView) parent).getViewManager()).index(inflated.getAsView());
+        }
+        return inflated;
+    }
+
+    /**
+     * @return the view which replaced the stub, {@code null} if it has not been inflated yet.
+     */
+    @Nullable
+    public ProteusView getInflatedView() {
+        return inflated;
+    }
+
+    @NonNull
+    @Override
+    public Layout getLayout() {
+        return target;
+    }
+}
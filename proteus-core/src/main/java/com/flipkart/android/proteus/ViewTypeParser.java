@@ -44,13 +44,19 @@ import java.util.Map;
  */
 public abstract class ViewTypeParser<V extends View> {
 
-    private static XmlResourceParser sParser = null;
+    /**
+     * An {@link XmlResourceParser} is a cursor and is not safe to share between threads, so
+     * every thread which inflates views gets its own.
+     */
+    private static final ThreadLocal<XmlResourceParser> sParser = new ThreadLocal<>();
 
     @Nullable
     public ViewTypeParser parent;
 
     private AttributeProcessor[] processors = new AttributeProcessor[0];
 
+    private AttributeProcessor[] table = new AttributeProcessor[0];
+
     private Map<String, AttributeSet.Attribute> attributes = new HashMap<>();
 
     private int offset;
@@ -172,17 +178,30 @@ public abstract class ViewTypeParser<V extends View> {
      * @return
      */
     public boolean handleAttribute(V view, int attributeId, Value value) {
-        int position = getPosition(attributeId);
-        if (position < 0) {
-            //noinspection unchecked
-            return null != parent && parent.handleAttribute(view, attributeId, value);
+        if (attributeId < 0 || attributeId >= table.length) {
+            return false;
+        }
+        AttributeProcessor processor = table[attributeId];
+        if (null == processor) {
+            return false;
         }
-        AttributeProcessor attributeProcessor = processors[position];
         //noinspection unchecked
-        attributeProcessor.process(view, value);
+        processor.process(view, value);
         return true;
     }
 
+    /**
+     * Returns the {@link AttributeProcessor} which handles {@code attributeId} for this type,
+     * including the attributes inherited from the parent parsers.
+     *
+     * @param attributeId
+     * @return the processor or {@code null} if no parser in the hierarchy handles the attribute.
+     */
+    @Nullable
+    public AttributeProcessor getAttributeProcessor(int attributeId) {
+        return attributeId >= 0 && attributeId < table.length ? table[attributeId] : null;
+    }
+
     /**
      * @param view
      * @param children
@@ -202,6 +221,18 @@ public abstract class ViewTypeParser<V extends View> {
         return null != this.parent && this.parent.addView(parent, view);
     }
 
+    /**
+     * Adds {@code view} to {@code parent} at {@code index}.
+     *
+     * @param parent the parent to add the view to.
+     * @param view   the view to add.
+     * @param index  the position to add the view at, {@code -1} to add it after the other children.
+     * @return {@code true} if the view was added.
+     */
+    public boolean addView(ProteusView parent, ProteusView view, int index) {
+        return null != this.parent && this.parent.addView(parent, view, index);
+    }
+
     /**
      * @param parent
      * @return
@@ -214,6 +245,7 @@ public abstract class ViewTypeParser<V extends View> {
         this.offset = null != parent ? parent.getAttributeSet().getOffset() : 0;
         addAttributeProcessors();
         this.attributeSet = new AttributeSet(attributes.size() > 0 ? attributes : null, null != parent ? parent.getAttributeSet() : null);
+        this.table = createDispatchTable(null != parent ? parent.table : null, processors, -offset);
         return attributeSet;
     }
 
@@ -252,42 +284,52 @@ public abstract class ViewTypeParser<V extends View> {
         return offset;
     }
 
-    private int getPosition(int attributeId) {
-        return attributeId + getOffset();
-    }
-
     private int getAttributeId(int position) {
         return position - getOffset();
     }
 
+    /**
+     * Flattens the processors of the whole parser hierarchy into a single array indexed by
+     * attribute id. The ids of the attributes inherited from the parent come first, followed
+     * by the ids of the attributes added by this parser, starting at {@code start}.
+     */
+    private static AttributeProcessor[] createDispatchTable(@Nullable AttributeProcessor[] inherited,
+                                                            @NonNull AttributeProcessor[] processors, int start) {
+        AttributeProcessor[] table = new AttributeProcessor[start + processors.length];
+        if (null != inherited) {
+            System.arraycopy(inherited, 0, table, 0, Math.min(start, inherited.length));
+        }
+        System.arraycopy(processors, 0, table, start, processors.length);
+        return table;
+    }
+
     private ViewGroup.LayoutParams generateDefaultLayoutParams(@NonNull ViewGroup parent) {
 
         /**
          * This whole method is a hack! To generate layout params, since no other way exists.
          * Refer : http://stackoverflow.com/questions/7018267/generating-a-layoutparams-based-on-the-type-of-parent
          */
-        if (null == sParser) {
-            synchronized (ViewTypeParser.class) {
-                if (null == sParser) {
-                    initializeAttributeSet(parent);
-                }
-            }
+        XmlResourceParser parser = sParser.get();
+        if (null == parser) {
+            parser = initializeAttributeSet(parent);
+            sParser.set(parser);
         }
 
-        return parent.generateLayoutParams(sParser);
+        return parent.generateLayoutParams(parser);
     }
 
-    private void initializeAttributeSet(@NonNull ViewGroup parent) {
-        sParser = parent.getResources().getLayout(R.layout.layout_params_hack);
+    private XmlResourceParser initializeAttributeSet(@NonNull ViewGroup parent) {
+        XmlResourceParser parser = parent.getResources().getLayout(R.layout.layout_params_hack);
         //noinspection StatementWithEmptyBody
         try {
             //noinspection StatementWithEmptyBody
-            while (sParser.nextToken() != XmlPullParser.START_TAG) {
+            while (parser.nextToken() != XmlPullParser.START_TAG) {
                 // Skip everything until the view tag.
             }
         } catch (XmlPullParserException | IOException e) {
             e.printStackTrace();
         }
+        return parser;
     }
 
     /**
@@ -295,32 +337,30 @@ public abstract class ViewTypeParser<V extends View> {
      */
     public static class AttributeSet {
 
-        @Nullable
+        @NonNull
         private final Map<String, Attribute> attributes;
 
-        @Nullable
-        private final AttributeSet parent;
-
         private final int offset;
 
         private AttributeSet(@Nullable Map<String, Attribute> attributes, @Nullable AttributeSet parent) {
-            this.attributes = attributes;
-            this.parent = parent;
             int parentOffset = null != parent ? parent.getOffset() : 0;
             int length = null != attributes ? attributes.size() : 0;
             this.offset = parentOffset - length;
+
+            // flatten the attributes of the whole hierarchy so that a lookup is a single hash lookup
+            Map<String, Attribute> flattened = new HashMap<>(null != parent ? parent.attributes.size() + length : length);
+            if (null != parent) {
+                flattened.putAll(parent.attributes);
+            }
+            if (null != attributes) {
+                flattened.putAll(attributes);
+            }
+            this.attributes = flattened;
         }
 
         @Nullable
         public Attribute getAttribute(String name) {
-            Attribute attribute = null != attributes ? attributes.get(name) : null;
-            if (null != attribute) {
-                return attribute;
-            } else if (null != parent) {
-                return parent.getAttribute(name);
-            } else {
-                return null;
-            }
+            return attributes.get(name);
         }
 
         int getOffset() {
@@ -36,7 +36,8 @@ import com.flipkart.android.proteus.value.Value;
 /**
  * IncludeParser
  * <p>
- * TODO: merge the attributes into the included layout
+ * Inflates the layout named by the {@code layout} attribute, merged with the attributes of
+ * the include. Merged layouts are cached by {@link ProteusContext#getInclude(Layout)}.
  * </p>
  *
  * @author aditya.sharat
@@ -69,12 +70,12 @@ public class IncludeParser<V extends View> extends ViewTypeParser<V> {
             throw new ProteusInflateException("required attribute 'layout' missing or is not a string");
         }
 
-        Layout layout = context.getLayout(type.getAsString());
+        Layout layout = context.getInclude(include);
         if (null == layout) {
             throw new ProteusInflateException("Layout '" + type + "' not found");
         }
 
-        return context.getInflater().inflate(layout.merge(include), data, parent, dataIndex);
+        return context.getInflater().inflate(layout, data, parent, dataIndex);
     }
 
     @Override
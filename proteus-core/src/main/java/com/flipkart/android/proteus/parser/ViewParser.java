@@ -40,6 +40,7 @@ import android.widget.RelativeLayout;
 import com.flipkart.android.proteus.ProteusConstants;
 import com.flipkart.android.proteus.ProteusContext;
 import com.flipkart.android.proteus.ProteusView;
+import com.flipkart.android.proteus.ViewManager;
 import com.flipkart.android.proteus.ViewTypeParser;
 import com.flipkart.android.proteus.processor.AttributeProcessor;
 import com.flipkart.android.proteus.processor.BooleanAttributeProcessor;
@@ -49,6 +50,7 @@ import com.flipkart.android.proteus.processor.EventProcessor;
 import com.flipkart.android.proteus.processor.GravityAttributeProcessor;
 import com.flipkart.android.proteus.processor.StringAttributeProcessor;
 import com.flipkart.android.proteus.processor.TweenAnimationResourceProcessor;
+import com.flipkart.android.proteus.processor.ViewIdProcessor;
 import com.flipkart.android.proteus.toolbox.Attributes;
 import com.flipkart.android.proteus.value.AttributeResource;
 import com.flipkart.android.proteus.value.Layout;
@@ -56,9 +58,11 @@ import com.flipkart.android.proteus.value.ObjectValue;
 import com.flipkart.android.proteus.value.Resource;
 import com.flipkart.android.proteus.value.StyleResource;
 import com.flipkart.android.proteus.value.Value;
+import com.flipkart.android.proteus.value.ViewId;
 import com.flipkart.android.proteus.view.ProteusAndroidView;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author kiran.kumar
@@ -366,39 +370,31 @@ public class ViewParser<V extends View> extends ViewTypeParser<V> {
                 return ParseHelper.getVisibility(visibility);
             }
         });
-        addAttributeProcessor(Attributes.View.Id, new StringAttributeProcessor<V>() {
+        addAttributeProcessor(Attributes.View.Id, new ViewIdProcessor<V>() {
+
+            /**
+             * The delegates are shared by all the views with the same id.
+             */
+            private final Map<String, View.AccessibilityDelegate> delegates = new ConcurrentHashMap<>();
+
             @Override
-            public void setString(final V view, String value) {
-                if (view instanceof ProteusView) {
-                    view.setId(((ProteusView) view).getViewManager().getContext().getInflater().getUniqueViewId(value));
+            public void setViewId(V view, ViewId id) {
+                if (view.getId() != id.id) {
+                    view.setId(id.id);
+                    // a bound id can change after the view was indexed
+                    if (view instanceof ProteusView && ((ProteusView) view).getViewManager() instanceof ViewManager) {
+                        ((ViewManager) ((ProteusView) view).getViewManager()).index(view);
+                    }
                 }
 
                 // set view id resource name
                 if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
-                    final String resourceName = value;
-                    view.setAccessibilityDelegate(new View.AccessibilityDelegate() {
-                        @Override
-                        public void onInitializeAccessibilityNodeInfo(View host, AccessibilityNodeInfo info) {
-                            super.onInitializeAccessibilityNodeInfo(host, info);
-                            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
-                                String normalizedResourceName;
-                                if (!TextUtils.isEmpty(resourceName)) {
-                                    String id;
-                                    if (resourceName.startsWith(ID_STRING_START_PATTERN)) {
-                                        id = resourceName.substring(ID_STRING_START_PATTERN.length());
-                                    } else if (resourceName.startsWith(ID_STRING_START_PATTERN1)) {
-                                        id = resourceName.substring(ID_STRING_START_PATTERN1.length());
-                                    } else {
-                                        id = resourceName;
-                                    }
-                                    normalizedResourceName = view.getContext().getPackageName() + ID_STRING_NORMALIZED_PATTERN + id;
-                                } else {
-                                    normalizedResourceName = "";
-                                }
-                                info.setViewIdResourceName(normalizedResourceName);
-                            }
-                        }
-                    });
+                    View.AccessibilityDelegate delegate = delegates.get(id.name);
+                    if (null == delegate) {
+                        delegate = new ViewIdAccessibilityDelegate(id.name);
+                        delegates.put(id.name, delegate);
+                    }
+                    view.setAccessibilityDelegate(delegate);
                 }
             }
         });
@@ -435,20 +431,13 @@ public class ViewParser<V extends View> extends ViewTypeParser<V> {
                 Layout layout = viewManager.getLayout();
 
                 ViewTypeParser handler = context.getInflater().getParser(layout.type);
-
-                String[] styleSet = value.split(ProteusConstants.STYLE_DELIMITER);
-                for (String styleName : styleSet) {
-                    Map<String, Value> style = context.getStyle(styleName);
-                    if (null != style) {
-                        process(context.getStyle(styleName), (ProteusView) view, (handler != null ? handler : ViewParser.this));
-                    }
+                if (null == handler) {
+                    handler = ViewParser.this;
                 }
-            }
 
-            private void process(Map<String, Value> style, ProteusView proteusView, ViewTypeParser handler) {
-                for (Map.Entry<String, Value> entry : style.entrySet()) {
+                for (Layout.Attribute attribute : context.getStyle(value, handler)) {
                     //noinspection unchecked
-                    handler.handleAttribute(proteusView.getAsView(), handler.getAttributeId(entry.getKey()), entry.getValue());
+                    handler.handleAttribute(view, attribute.id, attribute.value);
                 }
             }
         });
@@ -569,13 +558,10 @@ public class ViewParser<V extends View> extends ViewTypeParser<V> {
     }
 
     private AttributeProcessor<V> createRelativeLayoutRuleProcessor(final int rule) {
-        return new StringAttributeProcessor<V>() {
+        return new ViewIdProcessor<V>() {
             @Override
-            public void setString(V view, String value) {
-                if (view instanceof ProteusView) {
-                    int id = ((ProteusView) view).getViewManager().getContext().getInflater().getUniqueViewId(value);
-                    ParseHelper.addRelativeLayoutRule(view, rule, id);
-                }
+            public void setViewId(V view, ViewId id) {
+                ParseHelper.addRelativeLayoutRule(view, rule, id.id);
             }
         };
     }
@@ -589,4 +575,36 @@ public class ViewParser<V extends View> extends ViewTypeParser<V> {
             }
         };
     }
+
+    private static class ViewIdAccessibilityDelegate extends View.AccessibilityDelegate {
+
+        @NonNull
+        private final String resourceName;
+
+        ViewIdAccessibilityDelegate(@NonNull String resourceName) {
+            this.resourceName = resourceName;
+        }
+
+        @Override
+        public void onInitializeAccessibilityNodeInfo(View host, AccessibilityNodeInfo info) {
+            super.onInitializeAccessibilityNodeInfo(host, info);
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+                String normalizedResourceName;
+                if (!TextUtils.isEmpty(resourceName)) {
+                    String id;
+                    if (resourceName.startsWith(ID_STRING_START_PATTERN)) {
+                        id = resourceName.substring(ID_STRING_START_PATTERN.length());
+                    } else if (resourceName.startsWith(ID_STRING_START_PATTERN1)) {
+                        id = resourceName.substring(ID_STRING_START_PATTERN1.length());
+                    } else {
+                        id = resourceName;
+                    }
+                    normalizedResourceName = host.getContext().getPackageName() + ID_STRING_NORMALIZED_PATTERN + id;
+                } else {
+                    normalizedResourceName = "";
+                }
+                info.setViewIdResourceName(normalizedResourceName);
+            }
+        }
+    }
 }
@@ -19,6 +19,7 @@
 
 package com.flipkart.android.proteus.parser.custom;
 
+import android.content.Context;
 import android.os.Build;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
@@ -31,23 +32,30 @@ import com.flipkart.android.proteus.ProteusContext;
 import com.flipkart.android.proteus.ProteusLayoutInflater;
 import com.flipkart.android.proteus.ProteusView;
 import com.flipkart.android.proteus.ViewGroupManager;
+import com.flipkart.android.proteus.ViewManager;
 import com.flipkart.android.proteus.ViewTypeParser;
 import com.flipkart.android.proteus.exceptions.ProteusInflateException;
 import com.flipkart.android.proteus.processor.AttributeProcessor;
 import com.flipkart.android.proteus.processor.BooleanAttributeProcessor;
 import com.flipkart.android.proteus.processor.StringAttributeProcessor;
 import com.flipkart.android.proteus.toolbox.Attributes;
+import com.flipkart.android.proteus.toolbox.KeyedDiff;
+import com.flipkart.android.proteus.value.Array;
 import com.flipkart.android.proteus.value.AttributeResource;
 import com.flipkart.android.proteus.value.Binding;
 import com.flipkart.android.proteus.value.Layout;
 import com.flipkart.android.proteus.value.NestedBinding;
+import com.flipkart.android.proteus.value.Null;
 import com.flipkart.android.proteus.value.ObjectValue;
 import com.flipkart.android.proteus.value.Resource;
 import com.flipkart.android.proteus.value.StyleResource;
 import com.flipkart.android.proteus.value.Value;
 import com.flipkart.android.proteus.view.ProteusAspectRatioFrameLayout;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 
 public class ViewGroupParser<T extends ViewGroup> extends ViewTypeParser<T> {
 
@@ -196,6 +204,12 @@ public class ViewGroupParser<T extends ViewGroup> extends ViewTypeParser<T> {
             throw new ProteusInflateException("'collection' in attribute:'children' must be NULL or Array");
         }
 
+        Value key = config.get(ProteusConstants.KEY);
+        if (null != key) {
+            handleKeyedChildren(view, manager, layout, dataset.getAsArray(), key);
+            return;
+        }
+
         int length = dataset.getAsArray().size();
         int count = view.getChildCount();
         ObjectValue data = dataContext.getData();
@@ -208,6 +222,7 @@ public class ViewGroupParser<T extends ViewGroup> extends ViewTypeParser<T> {
                 count--;
                 view.removeViewAt(count);
             }
+            manager.invalidateDependencies();
         }
 
         for (int index = 0; index < length; index++) {
@@ -224,10 +239,102 @@ public class ViewGroupParser<T extends ViewGroup> extends ViewTypeParser<T> {
         }
     }
 
+    /**
+     * Matches the children to the elements of {@code dataset} by their key, so that children
+     * are moved along with their element instead of being bound to another element. Children
+     * of removed elements are removed, and children are inflated only for new elements.
+     */
+    protected void handleKeyedChildren(T view, ViewGroupManager manager, Layout layout, Array dataset, Value key) {
+        DataContext dataContext = manager.getDataContext();
+        ObjectValue data = dataContext.getData();
+        int length = dataset.size();
+
+        List<Value> keys = new ArrayList<>(length);
+        for (int index = 0; index < length; index++) {
+            keys.add(getKey(view.getContext(), key, dataset, data, index));
+        }
+
+        List<Value> previous = manager.dataBoundChildKeys;
+        if (null == previous || previous.size() != view.getChildCount()) {
+            // the children were not created from keys, start over
+            view.removeAllViews();
+            previous = Collections.emptyList();
+        }
+
+        int[] sources = KeyedDiff.match(previous, keys);
+        boolean[] stable = KeyedDiff.stable(sources);
+
+        View[] children = new View[previous.size()];
+        boolean[] reused = new boolean[previous.size()];
+        for (int index = 0; index < children.length; index++) {
+            children[index] = view.getChildAt(index);
+        }
+        for (int source : sources) {
+            if (source != KeyedDiff.NEW) {
+                reused[source] = true;
+            }
+        }
+        for (int index = children.length - 1; index >= 0; index--) {
+            if (!reused[index]) {
+                view.removeViewAt(index);
+            }
+        }
+
+        // place the children from the last to the first, each one before the one after it
+        ProteusLayoutInflater inflater = manager.getContext().getInflater();
+        View anchor = null;
+        View child;
+        ProteusView inflated;
+        ProteusView.Manager childManager;
+
+        for (int index = length - 1; index >= 0; index--) {
+            if (sources[index] == KeyedDiff.NEW) {
+                inflated = inflater.inflate(layout, data, view, index);
+                addView((ProteusView) view, inflated, null == anchor ? -1 : view.indexOfChild(anchor));
+                child = inflated.getAsView();
+            } else {
+                child = children[sources[index]];
+                if (!stable[index]) {
+                    view.removeView(child);
+                    view.addView(child, null == anchor ? view.getChildCount() : view.indexOfChild(anchor));
+                }
+                if (child instanceof ProteusView) {
+                    childManager = ((ProteusView) child).getViewManager();
+                    childManager.getDataContext().setIndex(index);
+                    childManager.update(data);
+                }
+            }
+            anchor = child;
+        }
+
+        manager.dataBoundChildKeys = keys;
+        manager.invalidateDependencies();
+    }
+
+    private static Value getKey(Context context, Value key, Array dataset, ObjectValue data, int index) {
+        Value resolved;
+        if (key.isBinding()) {
+            resolved = key.getAsBinding().evaluate(context, data, index);
+        } else {
+            Value element = dataset.get(index);
+            resolved = element.isObject() ? element.getAsObject().get(key.getAsString()) : null;
+        }
+        return null != resolved ? resolved : Null.INSTANCE;
+    }
+
     @Override
     public boolean addView(ProteusView parent, ProteusView view) {
+        return addView(parent, view, -1);
+    }
+
+    @Override
+    public boolean addView(ProteusView parent, ProteusView view, int index) {
         if (parent instanceof ViewGroup) {
-            ((ViewGroup) parent).addView(view.getAsView());
+            ((ViewGroup) parent).addView(view.getAsView(), index);
+            if (parent.getViewManager() instanceof ViewManager) {
+                ((ViewManager) parent.getViewManager()).invalidateDependencies();
+                ((ViewManager) parent.getViewManager()).index(view.getAsView());
+            }
             return true;
         }
         return false;
@@ -25,6 +25,7 @@ import android.view.View;
 
 import com.flipkart.android.proteus.DataContext;
 import com.flipkart.android.proteus.FunctionManager;
+import com.flipkart.android.proteus.IdGenerator;
 import com.flipkart.android.proteus.ProteusView;
 import com.flipkart.android.proteus.value.AttributeResource;
 import com.flipkart.android.proteus.value.Binding;
@@ -41,6 +42,9 @@ import com.flipkart.android.proteus.value.Value;
  */
 public abstract class AttributeProcessor<V extends View> {
 
+    @Nullable
+    private Boolean handlesBindings;
+
     public static Value evaluate(final Context context, final Value input, final Value data, final int index) {
         final Value[] output = new Value[1];
 
@@ -82,7 +86,7 @@ public abstract class AttributeProcessor<V extends View> {
     public static Value staticPrecompile(Primitive value, Context context, FunctionManager manager) {
         String string = value.getAsString();
         if (Binding.isBindingValue(string)) {
-            return Binding.valueOf(string, context, manager);
+            return Binding.compile(string, context, manager);
         } else if (Resource.isResource(string)) {
             return Resource.valueOf(string, null, context);
         } else if (AttributeResource.isAttributeResource(string)) {
@@ -122,6 +126,50 @@ public abstract class AttributeProcessor<V extends View> {
         handleValue(view, resolved);
     }
 
+    /**
+     * Evaluates {@code binding} the way {@link #handleBinding(View, Binding)} does, without
+     * touching the view, so that it can be done off the main thread. Returns {@code null} for
+     * nested bindings, and for all bindings if this processor overrides
+     * {@link #handleBinding(View, Binding)}.
+     *
+     * @return the value to pass to {@link #handleValue(View, Value)}, or {@code null} if the
+     * binding has to be handled by {@link #handleBinding(View, Binding)} on the main thread.
+     */
+    @Nullable
+    public Value resolve(Binding binding, Context context, Value data, int index) {
+        if (binding instanceof NestedBinding || handlesBindings()) {
+            return null;
+        }
+        return evaluate(binding, context, data, index);
+    }
+
+    private boolean handlesBindings() {
+        if (null == handlesBindings) {
+            handlesBindings = overridesHandleBinding(getClass());
+        }
+        return handlesBindings;
+    }
+
+    private static boolean overridesHandleBinding(Class<?> type) {
+        try {
+            // an override with a narrower view type is declared through its bridge method
+            return AttributeProcessor.class != type.getMethod("handleBinding", View.class, Binding.class).getDeclaringClass();
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * A bound attribute is not applied again when its value has not changed since it was last
+     * applied, if its processor is idempotent. Processors with side effects, or which depend
+     * on more than the value, must return {@code false}.
+     *
+     * @return {@code true} if applying the same value again has no effect.
+     */
+    public boolean isIdempotent() {
+        return true;
+    }
+
     public abstract void handleValue(V view, Value value);
 
     public abstract void handleResource(V view, Resource resource);
@@ -144,6 +192,18 @@ public abstract class AttributeProcessor<V extends View> {
         return value;
     }
 
+    /**
+     * Resolves the parts of a precompiled value which depend on the inflater, such as view
+     * ids, when the layout is compiled for an inflater.
+     *
+     * @param value       the precompiled value.
+     * @param idGenerator the id generator of the inflater.
+     * @return the value to apply.
+     */
+    public Value link(Value value, IdGenerator idGenerator) {
+        return value;
+    }
+
     protected Value evaluate(Binding binding, Context context, Value data, int index) {
         return binding.evaluate(context, data, index);
     }
@@ -54,6 +54,12 @@ public abstract class TweenAnimationResourceProcessor<V extends View> extends At
         }
     }
 
+    @Override
+    public boolean isIdempotent() {
+        // setting an animation starts it
+        return false;
+    }
+
     @Override
     public void handleResource(V view, Resource resource) {
 
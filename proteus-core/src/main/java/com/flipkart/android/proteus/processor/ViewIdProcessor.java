@@ -0,0 +1,65 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus.processor;
+
+import android.view.View;
+
+import com.flipkart.android.proteus.IdGenerator;
+import com.flipkart.android.proteus.ProteusView;
+import com.flipkart.android.proteus.value.Value;
+import com.flipkart.android.proteus.value.ViewId;
+
+/**
+ * ViewIdProcessor
+ * <p>
+ * Processes attributes whose value is a view id. Static ids are generated when the layout is
+ * compiled; other values are resolved through the inflater when they are applied.
+ * </p>
+ */
+public abstract class ViewIdProcessor<V extends View> extends StringAttributeProcessor<V> {
+
+    @Override
+    public void handleValue(V view, Value value) {
+        if (value instanceof ViewId) {
+            setViewId(view, (ViewId) value);
+        } else {
+            super.handleValue(view, value);
+        }
+    }
+
+    @Override
+    public void setString(V view, String value) {
+        if (view instanceof ProteusView) {
+            int id = ((ProteusView) view).getViewManager().getContext().getInflater().getUniqueViewId(value);
+            setViewId(view, new ViewId(value, id));
+        }
+    }
+
+    @Override
+    public Value link(Value value, IdGenerator idGenerator) {
+        if (value.isPrimitive()) {
+            String name = value.getAsString();
+            return new ViewId(name, idGenerator.getUnique(name));
+        }
+        return value;
+    }
+
+    public abstract void setViewId(V view, ViewId id);
+}
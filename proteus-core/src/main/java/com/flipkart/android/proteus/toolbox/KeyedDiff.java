@@ -0,0 +1,117 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus.toolbox;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * KeyedDiff
+ * <p>
+ * Matches a list of old keys against a list of new keys, and finds the smallest set of old
+ * elements which have to move so that the old order matches the new order.
+ * </p>
+ */
+public class KeyedDiff {
+
+    public static final int NEW = -1;
+
+    private KeyedDiff() {
+    }
+
+    /**
+     * Matches each new key to an old key. Duplicate keys are matched in order.
+     *
+     * @param previous the old keys.
+     * @param next     the new keys.
+     * @return for every new key, the index of the matching old key or {@link #NEW}.
+     */
+    @NonNull
+    public static <K> int[] match(@NonNull List<K> previous, @NonNull List<K> next) {
+        Map<K, ArrayDeque<Integer>> positions = new HashMap<>(previous.size());
+        ArrayDeque<Integer> queue;
+        for (int i = 0; i < previous.size(); i++) {
+            queue = positions.get(previous.get(i));
+            if (null == queue) {
+                queue = new ArrayDeque<>(1);
+                positions.put(previous.get(i), queue);
+            }
+            queue.add(i);
+        }
+
+        int[] sources = new int[next.size()];
+        Integer source;
+        for (int i = 0; i < sources.length; i++) {
+            queue = positions.get(next.get(i));
+            source = null != queue ? queue.poll() : null;
+            sources[i] = null != source ? source : NEW;
+        }
+        return sources;
+    }
+
+    /**
+     * Finds the matched elements which can stay where they are: the longest run of old
+     * indices which is increasing in the new order. All the other matched elements have to
+     * move.
+     *
+     * @param sources the result of {@link #match(List, List)}.
+     * @return for every new key, {@code true} if its old element does not have to move.
+     */
+    @NonNull
+    public static boolean[] stable(@NonNull int[] sources) {
+        // patience sorting, tails[k] is the position in sources of the smallest
+        // tail of an increasing run of length k + 1
+        int[] tails = new int[sources.length];
+        int[] previous = new int[sources.length];
+        int length = 0;
+        int low, high, middle;
+
+        for (int i = 0; i < sources.length; i++) {
+            if (sources[i] == NEW) {
+                continue;
+            }
+            low = 0;
+            high = length;
+            while (low < high) {
+                middle = (low + high) >>> 1;
+                if (sources[tails[middle]] < sources[i]) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            previous[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+
+        boolean[] stable = new boolean[sources.length];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = previous[i]) {
+            stable[i] = true;
+        }
+        return stable;
+    }
+}
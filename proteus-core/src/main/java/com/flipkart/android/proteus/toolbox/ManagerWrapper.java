@@ -29,6 +29,8 @@ import com.flipkart.android.proteus.ProteusView;
 import com.flipkart.android.proteus.value.Layout;
 import com.flipkart.android.proteus.value.ObjectValue;
 
+import java.util.Collection;
+
 /**
  * ManagerWrapper
  * <p>
@@ -53,6 +55,11 @@ public class ManagerWrapper implements ProteusView.Manager {
         base.update(data);
     }
 
+    @Override
+    public void update(@Nullable ObjectValue data, @NonNull Collection<String> changedPaths) {
+        base.update(data, changedPaths);
+    }
+
     @NonNull
     @Override
     public ProteusContext getContext() {
@@ -23,20 +23,19 @@ import android.content.Context;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.util.Log;
-import android.util.LruCache;
 
+import com.flipkart.android.proteus.BindingCache;
 import com.flipkart.android.proteus.Function;
 import com.flipkart.android.proteus.FunctionManager;
 import com.flipkart.android.proteus.ProteusConstants;
 import com.flipkart.android.proteus.processor.AttributeProcessor;
-import com.flipkart.android.proteus.toolbox.Result;
 import com.flipkart.android.proteus.toolbox.SimpleArrayIterator;
 import com.flipkart.android.proteus.toolbox.Utils;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
-import java.util.StringTokenizer;
-import java.util.regex.Matcher;
+import java.util.List;
 import java.util.regex.Pattern;
 
 /**
@@ -55,7 +54,15 @@ public abstract class Binding extends Value {
     public static final String ARRAY_DATA_LENGTH_REFERENCE = "$length";
     public static final String ARRAY_DATA_LAST_INDEX_REFERENCE = "$last";
 
+    /**
+     * @deprecated bindings are parsed by {@link Expression}.
+     */
+    @Deprecated
     public static final Pattern BINDING_PATTERN = Pattern.compile("@\\{fn:(\\S+?)\\(((?:(?<!\\\\)'.*?(?<!\\\\)'|.?)+)\\)\\}|@\\{(.+)\\}");
+    /**
+     * @deprecated bindings are parsed by {@link Expression}.
+     */
+    @Deprecated
     public static final Pattern FUNCTION_ARGS_DELIMITER = Pattern.compile(",(?=(?:[^']*'[^']*')*[^']*$)");
     public static final String DATA_PATH_DELIMITERS = ".[]";
     public static final String SIMPLE_DATA_PATH_DELIMITER = ".";
@@ -75,125 +82,241 @@ public abstract class Binding extends Value {
      * @param value
      * @param context
      * @param manager @return
+     * @throws IllegalArgumentException if {@code value} is not a valid binding.
      */
     public static Binding valueOf(@NonNull final String value, Context context, FunctionManager manager) {
-        Matcher matcher = BINDING_PATTERN.matcher(value);
-        if (matcher.find()) {
-            if (matcher.group(3) != null) {
-                return DataBinding.valueOf(matcher.group(3));
-            } else {
-                return FunctionBinding.valueOf(matcher.group(1), matcher.group(2), context, manager);
+        BindingCache cache = manager.getBindingCache();
+        Binding binding = cache.get(value);
+        if (null == binding) {
+            binding = Expression.valueOf(value).link(context, manager).getAsBinding();
+            cache.put(value, binding);
+        }
+        return binding;
+    }
+
+    /**
+     * Compiles a binding string for a layout: the binding is {@link #fold() folded}, so that
+     * parts which only call pure functions with constant arguments are evaluated once here.
+     *
+     * @return the binding, or the {@link Primitive} it always evaluates to.
+     * @throws IllegalArgumentException if {@code value} is not a valid binding.
+     */
+    @NonNull
+    public static Value compile(@NonNull final String value, Context context, FunctionManager manager) {
+        return valueOf(value, context, manager).fold();
+    }
+
+    /**
+     * Checks if a binding which reads {@code path} is affected by a change to any of
+     * {@code changedPaths}. A path is affected by changes to itself, to its ancestors and
+     * to its descendants; the empty path is the root of the data.
+     *
+     * @param path         a path read by a binding, see {@link #collectPaths(Collection)}.
+     * @param changedPaths the paths which changed.
+     * @return {@code true} if the binding needs to be evaluated again.
+     */
+    public static boolean isAffected(@NonNull String path, @NonNull Collection<String> changedPaths) {
+        for (String changed : changedPaths) {
+            if (isAncestorOrSelf(path, changed) || isAncestorOrSelf(changed, path)) {
+                return true;
             }
-        } else {
-            throw new IllegalArgumentException(value + " is not a binding");
         }
+        return false;
+    }
+
+    private static boolean isAncestorOrSelf(@NonNull String ancestor, @NonNull String path) {
+        return ancestor.isEmpty() || (path.startsWith(ancestor)
+                && (path.length() == ancestor.length() || path.charAt(ancestor.length()) == SIMPLE_DATA_PATH_DELIMITER.charAt(0)));
     }
 
     @NonNull
     public abstract Value evaluate(Context context, Value data, int index);
 
+    /**
+     * Adds the data paths read by this binding to {@code paths}. A path is made of the keys
+     * leading to a value joined by {@link #SIMPLE_DATA_PATH_DELIMITER}, and stops before the
+     * first token which depends on the data index, like {@link #INDEX}.
+     *
+     * @param paths the collection to add the paths to.
+     * @return {@code false} if the data read by this binding is not known, in which case it
+     * must be assumed to depend on all of the data.
+     */
+    public boolean collectPaths(@NonNull Collection<String> paths) {
+        return false;
+    }
+
+    /**
+     * Evaluates the parts of this binding which always evaluate to the same value, like calls
+     * of {@link com.flipkart.android.proteus.Function#isPure() pure} functions with constant
+     * arguments.
+     *
+     * @return the {@link Primitive} this binding always evaluates to, a binding with its
+     * constant parts evaluated, or this binding.
+     */
+    @NonNull
+    public Value fold() {
+        return this;
+    }
+
     @NonNull
     public abstract String toString();
 
     public static class DataBinding extends Binding {
 
-        private static final LruCache<String, DataBinding> DATA_BINDING_CACHE = new LruCache<>(64);
+        /**
+         * Steps which are not a constant array index. Constant indices are stored as themselves.
+         */
+        private static final int STEP_KEY = -1;
+        private static final int STEP_INDEX = -2;
+        private static final int STEP_LENGTH = -3;
+        private static final int STEP_LAST = -4;
 
         @NonNull
         private final String[] tokens;
 
+        /**
+         * The kind of each token, classified once so that {@link #resolve(Value, int)} does
+         * not compare or parse strings.
+         */
+        @NonNull
+        private final int[] steps;
+
+        @Nullable
+        private final String path;
+
         private DataBinding(@NonNull String[] tokens) {
             this.tokens = tokens;
+            this.steps = new int[tokens.length];
+            for (int i = 0; i < tokens.length; i++) {
+                steps[i] = classify(tokens[i]);
+            }
+            this.path = getPath(tokens);
         }
 
+        /**
+         * Parses {@code path}. The bindings of layouts are compiled through
+         * {@link Binding#valueOf(String, Context, FunctionManager)}, which caches them in the
+         * {@link BindingCache} of the {@link FunctionManager}.
+         */
         @NonNull
         public static DataBinding valueOf(@NonNull String path) {
-            DataBinding binding = DATA_BINDING_CACHE.get(path);
-            if (null == binding) {
-                StringTokenizer tokenizer = new StringTokenizer(path, DATA_PATH_DELIMITERS);
-                String[] tokens = new String[0];
-                while (tokenizer.hasMoreTokens()) {
-                    tokens = Arrays.copyOf(tokens, tokens.length + 1);
-                    tokens[tokens.length - 1] = tokenizer.nextToken();
+            return new DataBinding(tokenize(path));
+        }
+
+        @NonNull
+        private static String[] tokenize(@NonNull String path) {
+            List<String> tokens = new ArrayList<>();
+            int start = 0;
+            for (int i = 0; i <= path.length(); i++) {
+                if (i == path.length() || DATA_PATH_DELIMITERS.indexOf(path.charAt(i)) >= 0) {
+                    if (i > start) {
+                        tokens.add(path.substring(start, i));
+                    }
+                    start = i + 1;
+                }
+            }
+            return tokens.toArray(new String[tokens.size()]);
+        }
+
+        private static int classify(@NonNull String token) {
+            if (INDEX.equals(token)) {
+                return STEP_INDEX;
+            } else if (ARRAY_DATA_LENGTH_REFERENCE.equals(token)) {
+                return STEP_LENGTH;
+            } else if (ARRAY_DATA_LAST_INDEX_REFERENCE.equals(token)) {
+                return STEP_LAST;
+            }
+            for (int i = 0; i < token.length(); i++) {
+                if (token.charAt(i) < '0' || token.charAt(i) > '9') {
+                    return STEP_KEY;
                 }
-                binding = new DataBinding(tokens);
-                DATA_BINDING_CACHE.put(path, binding);
             }
-            return binding;
+            try {
+                return Integer.parseInt(token);
+            } catch (NumberFormatException e) {
+                return STEP_KEY;
+            }
         }
 
-        private static Result resolve(String[] tokens, Value data, int index) {
+        /**
+         * @return the value at this path, or {@code null} if there is no such value or it is
+         * {@link Null}.
+         */
+        @Nullable
+        private Value resolve(Value data, int index) {
             // replace INDEX with index value
-            if (tokens.length == 1 && INDEX.equals(tokens[0])) {
-                return Result.success(new Primitive(String.valueOf(index)));
-            } else {
-                Value elementToReturn = data;
-                Value tempElement;
-                Array tempArray;
-
-                for (int i = 0; i < tokens.length; i++) {
-                    String segment = tokens[i];
-                    if (elementToReturn == null) {
-                        return Result.NO_SUCH_DATA_PATH_EXCEPTION;
-                    }
-                    if (elementToReturn.isNull()) {
-                        return Result.NULL_EXCEPTION;
-                    }
-                    if ("".equals(segment)) {
-                        continue;
-                    }
-                    if (elementToReturn.isArray()) {
-                        tempArray = elementToReturn.getAsArray();
-
-                        if (INDEX.equals(segment)) {
-                            if (index < tempArray.size()) {
-                                elementToReturn = tempArray.get(index);
-                            } else {
-                                return Result.NO_SUCH_DATA_PATH_EXCEPTION;
-                            }
-                        } else if (ARRAY_DATA_LENGTH_REFERENCE.equals(segment)) {
-                            elementToReturn = new Primitive(tempArray.size());
-                        } else if (ARRAY_DATA_LAST_INDEX_REFERENCE.equals(segment)) {
-                            if (tempArray.size() == 0) {
-                                return Result.NO_SUCH_DATA_PATH_EXCEPTION;
-                            }
-                            elementToReturn = tempArray.get(tempArray.size() - 1);
-                        } else {
-                            try {
-                                index = Integer.parseInt(segment);
-                            } catch (NumberFormatException e) {
-                                return Result.INVALID_DATA_PATH_EXCEPTION;
-                            }
-                            if (index < tempArray.size()) {
-                                elementToReturn = tempArray.get(index);
-                            } else {
-                                return Result.NO_SUCH_DATA_PATH_EXCEPTION;
-                            }
-                        }
-                    } else if (elementToReturn.isObject()) {
-                        tempElement = elementToReturn.getAsObject().get(segment);
-                        if (tempElement != null) {
-                            elementToReturn = tempElement;
-                        } else {
-                            return Result.NO_SUCH_DATA_PATH_EXCEPTION;
-                        }
-                    } else if (elementToReturn.isPrimitive()) {
-                        return Result.INVALID_DATA_PATH_EXCEPTION;
-                    } else {
-                        return Result.NO_SUCH_DATA_PATH_EXCEPTION;
+            if (steps.length == 1 && steps[0] == STEP_INDEX) {
+                return new Primitive(String.valueOf(index));
+            }
+
+            Value current = data;
+            Array array;
+            for (int i = 0; i < steps.length; i++) {
+                if (null == current || current.isNull()) {
+                    return null;
+                }
+                if (current.isArray()) {
+                    array = current.getAsArray();
+                    switch (steps[i]) {
+                        case STEP_KEY:
+                            return null;
+                        case STEP_INDEX:
+                            current = index >= 0 && index < array.size() ? array.get(index) : null;
+                            break;
+                        case STEP_LENGTH:
+                            current = new Primitive(array.size());
+                            break;
+                        case STEP_LAST:
+                            current = array.size() > 0 ? array.get(array.size() - 1) : null;
+                            break;
+                        default:
+                            // a constant index is also the index of any $index after it
+                            index = steps[i];
+                            current = index < array.size() ? array.get(index) : null;
+                            break;
                     }
+                } else if (current.isObject()) {
+                    current = current.getAsObject().get(tokens[i]);
+                } else {
+                    return null;
+                }
+            }
+            return null == current || current.isNull() ? null : current;
+        }
+
+        @Nullable
+        private static String getPath(String[] tokens) {
+            if (tokens.length == 1 && INDEX.equals(tokens[0])) {
+                return null;
+            }
+            StringBuilder builder = new StringBuilder();
+            for (String token : tokens) {
+                if ("".equals(token)) {
+                    continue;
+                }
+                if (token.charAt(0) == '$') {
+                    break;
                 }
-                if (elementToReturn.isNull()) {
-                    return Result.NULL_EXCEPTION;
+                if (builder.length() > 0) {
+                    builder.append(SIMPLE_DATA_PATH_DELIMITER);
                 }
-                return Result.success(elementToReturn);
+                builder.append(token);
             }
+            return builder.toString();
         }
 
         public Iterator<String> getTokens() {
             return new SimpleArrayIterator<>(this.tokens);
         }
 
+        @Override
+        public boolean collectPaths(@NonNull Collection<String> paths) {
+            if (null != path) {
+                paths.add(path);
+            }
+            return true;
+        }
+
         @Override
         public Value copy() {
             return this;
@@ -202,8 +325,8 @@ public abstract class Binding extends Value {
         @NonNull
         @Override
         public Value evaluate(Context context, Value data, int index) {
-            Result result = resolve(tokens, data, index);
-            return result.isSuccess() ? result.value : Null.INSTANCE;
+            Value value = resolve(data, index);
+            return null != value ? value : Null.INSTANCE;
         }
 
         @NonNull
@@ -227,28 +350,17 @@ public abstract class Binding extends Value {
         @Nullable
         private final Value[] arguments;
 
+        @Nullable
+        private volatile Value folded;
+
         public FunctionBinding(@NonNull Function function, @Nullable Value[] arguments) {
             this.arguments = arguments;
             this.function = function;
         }
 
         public static FunctionBinding valueOf(@NonNull String name, @NonNull String args, Context context, @NonNull FunctionManager manager) {
-            Function function = manager.get(name);
-            String[] tokens = FUNCTION_ARGS_DELIMITER.split(args);
-            Value[] arguments = new Value[tokens.length];
-            String token;
-            Value resolved;
-            for (int i = 0; i < tokens.length; i++) {
-                token = tokens[i].trim();
-                if (!token.isEmpty() && token.charAt(0) == '\'') {
-                    token = token.substring(1, token.length() - 1);
-                    resolved = new Primitive(token);
-                } else {
-                    resolved = AttributeProcessor.staticPrecompile(new Primitive(token), context, manager);
-                }
-                arguments[i] = resolved != null ? resolved : new Primitive(token);
-            }
-            return new FunctionBinding(function, arguments);
+            String binding = "" + BINDING_PREFIX_0 + BINDING_PREFIX_1 + Expression.FUNCTION_PREFIX + name + '(' + args + ')' + BINDING_SUFFIX;
+            return (FunctionBinding) Binding.valueOf(binding, context, manager);
         }
 
         private static Value[] resolve(Context context, Value[] in, Value data, int index) {
@@ -266,16 +378,90 @@ public abstract class Binding extends Value {
             return new SimpleArrayIterator<>(this.arguments);
         }
 
+        /**
+         * Collects the paths read by the arguments. Every function is passed the data, so
+         * only a {@link Function#isPure() pure} one is known to read it through its arguments
+         * alone.
+         */
+        @Override
+        public boolean collectPaths(@NonNull Collection<String> paths) {
+            if (!this.function.isPure()) {
+                return false;
+            }
+            boolean known = true;
+            if (null != arguments) {
+                for (Value argument : arguments) {
+                    if (argument.isBinding()) {
+                        known &= argument.getAsBinding().collectPaths(paths);
+                    }
+                }
+            }
+            return known;
+        }
+
         @Override
         public Value copy() {
             return this;
         }
 
+        /**
+         * Folds the arguments first, so that a call is folded if they all fold into constants.
+         * If it is not, the folded arguments are kept in a new binding. The result is computed
+         * once, since bindings are shared through the {@link BindingCache}.
+         */
+        @NonNull
+        @Override
+        public Value fold() {
+            Value folded = this.folded;
+            if (null == folded) {
+                folded = foldArguments();
+                this.folded = folded;
+            }
+            return folded;
+        }
+
+        @NonNull
+        private Value foldArguments() {
+            if (null == arguments) {
+                return this;
+            }
+            Value[] values = new Value[arguments.length];
+            boolean changed = false;
+            boolean constant = function.isPure();
+            for (int i = 0; i < arguments.length; i++) {
+                values[i] = arguments[i].isBinding() ? arguments[i].getAsBinding().fold() : arguments[i];
+                changed |= values[i] != arguments[i];
+                constant &= isConstant(values[i]);
+            }
+            if (constant) {
+                try {
+                    Value result = function.call(Null.INSTANCE, -1, values);
+                    if (null != result && result.isPrimitive()) {
+                        return result;
+                    }
+                } catch (Exception e) {
+                    // leave it to the binding to fail, and log, when it is evaluated
+                }
+            }
+            return changed ? new FunctionBinding(function, values) : this;
+        }
+
+        /**
+         * Resources are not constant: they are resolved with the configuration of the view,
+         * while a compiled value can outlive a configuration change.
+         */
+        private static boolean isConstant(@NonNull Value value) {
+            return value.isPrimitive() || value.isNull();
+        }
+
         @NonNull
         @Override
         public Value evaluate(Context context, Value data, int index) {
-            Value[] arguments = resolve(context, this.arguments, data, index);
             try {
+                if (this.function.isLazy()) {
+                    return this.function.call(data, index, new Arguments(context, this.arguments, data, index));
+                }
+                Value[] arguments = resolve(context, this.arguments, data, index);
                 return this.function.call(data, index, arguments);
             } catch (Exception e) {
                 if (ProteusConstants.isLoggingEnabled()) {
@@ -294,5 +480,44 @@ public abstract class Binding extends Value {
 
             return "crap";
         }
+
+        private static class Arguments extends Function.LazyArgs {
+
+            private final Context context;
+
+            @NonNull
+            private final Value[] in;
+
+            @NonNull
+            private final Value[] out;
+
+            private final Value data;
+
+            private final int index;
+
+            Arguments(Context context, @NonNull Value[] in, Value data, int index) {
+                this.context = context;
+                this.in = in;
+                this.out = new Value[in.length];
+                this.data = data;
+                this.index = index;
+            }
+
+            @Override
+            public int size() {
+                return in.length;
+            }
+
+            @NonNull
+            @Override
+            public Value get(int index) {
+                Value value = out[index];
+                if (null == value) {
+                    value = AttributeProcessor.evaluate(context, in[index], data, this.index);
+                    out[index] = value;
+                }
+                return value;
+            }
+        }
     }
 }
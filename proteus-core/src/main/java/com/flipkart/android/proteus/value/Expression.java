@@ -0,0 +1,341 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus.value;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+
+import com.flipkart.android.proteus.FunctionManager;
+import com.flipkart.android.proteus.processor.AttributeProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Expression
+ * <p>
+ * The syntax tree of a binding string like {@code @{a.b.c}} or
+ * {@code @{fn:format('%s off', @{fn:number(@{discount})})}}. Expressions do not depend on the
+ * {@link Context} or the {@link FunctionManager}; {@link #link(Context, FunctionManager)}
+ * turns them into {@link Binding}s. The bindings are cached by the
+ * {@link com.flipkart.android.proteus.BindingCache} of the {@link FunctionManager}, so a string
+ * is only parsed again once it is evicted.
+ * </p>
+ * <p>
+ * The parser is a single pass over the characters. Function arguments are separated by
+ * commas outside of quotes and nested bindings, and may be quoted literals, nested
+ * bindings or bare tokens which are precompiled like any other attribute value.
+ * </p>
+ */
+public abstract class Expression {
+
+    public static final String FUNCTION_PREFIX = "fn:";
+
+    /**
+     * Parses {@code binding}.
+     *
+     * @param binding a string for which {@link Binding#isBindingValue(String)} is true.
+     * @throws IllegalArgumentException if {@code binding} is not a valid binding.
+     */
+    @NonNull
+    public static Expression valueOf(@NonNull String binding) {
+        return new Parser(binding).parse();
+    }
+
+    /**
+     * Builds the {@link Value} this expression stands for.
+     */
+    @NonNull
+    public abstract Value link(Context context, FunctionManager manager);
+
+    /**
+     * A data path, like {@code a.b[0].c}.
+     */
+    public static class Path extends Expression {
+
+        @NonNull
+        public final String path;
+
+        Path(@NonNull String path) {
+            this.path = path;
+        }
+
+        @NonNull
+        @Override
+        public Value link(Context context, FunctionManager manager) {
+            return Binding.DataBinding.valueOf(path);
+        }
+
+        @Override
+        public String toString() {
+            return "@{" + path + "}";
+        }
+    }
+
+    /**
+     * A quoted function argument. The quotes are not part of the {@link #value}.
+     */
+    public static class Literal extends Expression {
+
+        @NonNull
+        public final String value;
+
+        Literal(@NonNull String value) {
+            this.value = value;
+        }
+
+        @NonNull
+        @Override
+        public Value link(Context context, FunctionManager manager) {
+            return new Primitive(value);
+        }
+
+        @Override
+        public String toString() {
+            return "'" + value + "'";
+        }
+    }
+
+    /**
+     * An unquoted function argument, like a number or a resource reference.
+     */
+    public static class Token extends Expression {
+
+        @NonNull
+        public final String value;
+
+        Token(@NonNull String value) {
+            this.value = value;
+        }
+
+        @NonNull
+        @Override
+        public Value link(Context context, FunctionManager manager) {
+            Primitive primitive = new Primitive(value);
+            Value compiled = AttributeProcessor.staticPrecompile(primitive, context, manager);
+            return null != compiled ? compiled : primitive;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+
+    /**
+     * A function call, like {@code @{fn:eq(@{a}, 'b')}}.
+     */
+    public static class Call extends Expression {
+
+        @NonNull
+        public final String name;
+
+        @NonNull
+        public final Expression[] arguments;
+
+        Call(@NonNull String name, @NonNull Expression[] arguments) {
+            this.name = name;
+            this.arguments = arguments;
+        }
+
+        @NonNull
+        @Override
+        public Value link(Context context, FunctionManager manager) {
+            Value[] values = new Value[arguments.length];
+            for (int i = 0; i < arguments.length; i++) {
+                values[i] = arguments[i].link(context, manager);
+            }
+            return new Binding.FunctionBinding(manager.get(name), values);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder("@{").append(FUNCTION_PREFIX).append(name).append('(');
+            for (int i = 0; i < arguments.length; i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                builder.append(arguments[i]);
+            }
+            return builder.append(")}").toString();
+        }
+    }
+
+    private static class Parser {
+
+        private static final char QUOTE = '\'';
+        private static final char ESCAPE = '\\';
+
+        @NonNull
+        private final String source;
+
+        private int position;
+
+        Parser(@NonNull String source) {
+            this.source = source;
+        }
+
+        @NonNull
+        Expression parse() {
+            Expression expression = binding();
+            if (position != source.length()) {
+                throw error("unexpected '" + source.charAt(position) + "'");
+            }
+            return expression;
+        }
+
+        /**
+         * binding := '@{' ( 'fn:' call | path ) '}'
+         */
+        @NonNull
+        private Expression binding() {
+            expect(Binding.BINDING_PREFIX_0);
+            expect(Binding.BINDING_PREFIX_1);
+            Expression expression;
+            if (source.startsWith(FUNCTION_PREFIX, position)) {
+                position += FUNCTION_PREFIX.length();
+                expression = call();
+            } else {
+                expression = path();
+            }
+            expect(Binding.BINDING_SUFFIX);
+            return expression;
+        }
+
+        @NonNull
+        private Expression path() {
+            int start = position;
+            int end = source.indexOf(Binding.BINDING_SUFFIX, start);
+            if (end <= start) {
+                throw error("expected a data path");
+            }
+            position = end;
+            return new Path(source.substring(start, end));
+        }
+
+        /**
+         * call := name '(' [ argument ( ',' argument )* ] ')'
+         */
+        @NonNull
+        private Expression call() {
+            int start = position;
+            int end = source.indexOf('(', start);
+            if (end < 0) {
+                throw error("expected '('");
+            }
+            String name = source.substring(start, end).trim();
+            if (name.isEmpty()) {
+                throw error("expected a function name");
+            }
+            position = end + 1;
+
+            List<Expression> arguments = new ArrayList<>(4);
+            skipWhitespace();
+            if (peek() == ')') {
+                position++;
+            } else {
+                while (true) {
+                    arguments.add(argument());
+                    skipWhitespace();
+                    char c = peek();
+                    position++;
+                    if (c == ')') {
+                        break;
+                    } else if (c != ',') {
+                        position--;
+                        throw error("expected ',' or ')'");
+                    }
+                }
+            }
+            return new Call(name, arguments.toArray(new Expression[arguments.size()]));
+        }
+
+        /**
+         * argument := literal | binding | token
+         */
+        @NonNull
+        private Expression argument() {
+            skipWhitespace();
+            char c = peek();
+            if (c == QUOTE) {
+                return literal();
+            } else if (c == Binding.BINDING_PREFIX_0 && position + 1 < source.length()
+                    && source.charAt(position + 1) == Binding.BINDING_PREFIX_1) {
+                return binding();
+            }
+            return token();
+        }
+
+        @NonNull
+        private Expression literal() {
+            int start = ++position;
+            while (position < source.length()) {
+                char c = source.charAt(position);
+                if (c == ESCAPE) {
+                    position += 2;
+                } else if (c == QUOTE) {
+                    return new Literal(source.substring(start, position++));
+                } else {
+                    position++;
+                }
+            }
+            position = start - 1;
+            throw error("unterminated quote");
+        }
+
+        @NonNull
+        private Expression token() {
+            int start = position;
+            while (position < source.length()) {
+                char c = source.charAt(position);
+                if (c == ',' || c == ')') {
+                    break;
+                }
+                position++;
+            }
+            return new Token(source.substring(start, position).trim());
+        }
+
+        private void skipWhitespace() {
+            while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+                position++;
+            }
+        }
+
+        private char peek() {
+            if (position >= source.length()) {
+                throw error("unexpected end");
+            }
+            return source.charAt(position);
+        }
+
+        private void expect(char c) {
+            if (peek() != c) {
+                throw error("expected '" + c + "'");
+            }
+            position++;
+        }
+
+        @NonNull
+        private IllegalArgumentException error(@NonNull String message) {
+            return new IllegalArgumentException(source + " is not a valid binding, " + message + " at " + position);
+        }
+    }
+}
@@ -49,6 +49,9 @@ public class Layout extends Value {
     @Nullable
     public final ObjectValue extras;
 
+    @Nullable
+    private volatile Object plan;
+
     public Layout(@NonNull String type, @Nullable List<Attribute> attributes, @Nullable Map<String, Value> data, @Nullable ObjectValue extras) {
         this.type = type;
         this.attributes = attributes;
@@ -69,6 +72,24 @@ public class Layout extends Value {
         return new Layout(type, attributes, data, extras);
     }
 
+    /**
+     * @return the compiled form of this layout cached by an inflater, or null.
+     */
+    @Nullable
+    public Object getPlan() {
+        return plan;
+    }
+
+    /**
+     * Caches the compiled form of this layout, so that an inflater can find it without a
+     * lookup. It is not copied with the layout.
+     *
+     * @param plan the compiled form of this layout.
+     */
+    public void setPlan(@Nullable Object plan) {
+        this.plan = plan;
+    }
+
     public Layout merge(Layout include) {
 
         List<Attribute> attributes = null;
@@ -85,7 +106,7 @@ public class Layout extends Value {
 
         Map<String, Value> data = null;
         if (this.data != null) {
-            data = this.data;
+            data = new HashMap<>(this.data);
         }
         if (include.data != null) {
             if (data == null) {
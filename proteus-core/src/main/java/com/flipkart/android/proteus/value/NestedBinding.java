@@ -22,6 +22,7 @@ package com.flipkart.android.proteus.value;
 import android.content.Context;
 import android.support.annotation.NonNull;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
 
@@ -61,6 +62,11 @@ public class NestedBinding extends Binding {
         return evaluate(context, value, data, index);
     }
 
+    @Override
+    public boolean collectPaths(@NonNull Collection<String> paths) {
+        return collectPaths(value, paths);
+    }
+
     @NonNull
     @Override
     public String toString() {
@@ -105,6 +111,23 @@ public class NestedBinding extends Binding {
         return evaluated;
     }
 
+    private static boolean collectPaths(Value value, Collection<String> paths) {
+        boolean known = true;
+        if (value.isBinding()) {
+            known = value.getAsBinding().collectPaths(paths);
+        } else if (value.isObject()) {
+            for (Map.Entry<String, Value> entry : value.getAsObject().entrySet()) {
+                known &= collectPaths(entry.getValue(), paths);
+            }
+        } else if (value.isArray()) {
+            Iterator<Value> iterator = value.getAsArray().iterator();
+            while (iterator.hasNext()) {
+                known &= collectPaths(iterator.next(), paths);
+            }
+        }
+        return known;
+    }
+
     @Override
     public Value copy() {
         return null;
@@ -0,0 +1,63 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus.value;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Observable
+ * <p>
+ * A {@link Value} which notifies its listeners when it, or any {@link Observable} it contains,
+ * is modified. Listeners are called synchronously, on the thread which modified the value.
+ * Observables are not thread safe and must be modified on the thread which their listeners
+ * expect. Views apply bindings from their listeners, so the data bound to views must be
+ * modified on the main thread.
+ * </p>
+ */
+public interface Observable {
+
+    /**
+     * Adds a listener. Adding the same listener again has no effect.
+     *
+     * @param listener the listener to add.
+     */
+    void addOnChangeListener(@NonNull OnChangeListener listener);
+
+    /**
+     * @param listener the listener to remove.
+     */
+    void removeOnChangeListener(@NonNull OnChangeListener listener);
+
+    /**
+     * OnChangeListener
+     */
+    interface OnChangeListener {
+
+        /**
+         * Called after a value was modified.
+         *
+         * @param source the observable which dispatched the change.
+         * @param path   the path, relative to {@code source}, of the value which was modified.
+         *               Paths use the format of {@link Binding#collectPaths(java.util.Collection)};
+         *               the empty path means {@code source} itself.
+         */
+        void onChange(@NonNull Observable source, @NonNull String path);
+    }
+}
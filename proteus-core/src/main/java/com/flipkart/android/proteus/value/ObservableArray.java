@@ -0,0 +1,168 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus.value;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ObservableArray
+ * <p>
+ * An {@link Array} which dispatches a change every time it is modified, and every time an
+ * {@link Observable} element changes. Adding or removing elements shifts the indices of the
+ * elements after them, so it is dispatched as a change of the array itself; replacing an
+ * element is dispatched as a change of its index. Modifications made through
+ * {@link #iterator()} are not dispatched.
+ * </p>
+ */
+public class ObservableArray extends Array implements Observable {
+
+    private static final char DELIMITER = Binding.SIMPLE_DATA_PATH_DELIMITER.charAt(0);
+
+    private final List<OnChangeListener> listeners = new ArrayList<>();
+
+    private final OnChangeListener elementListener = new OnChangeListener() {
+        @Override
+        public void onChange(@NonNull Observable source, @NonNull String path) {
+            for (int i = 0; i < size(); i++) {
+                if (get(i) == source) {
+                    notifyChange(path.isEmpty() ? String.valueOf(i) : String.valueOf(i) + DELIMITER + path);
+                }
+            }
+        }
+    };
+
+    public ObservableArray() {
+        super();
+    }
+
+    public ObservableArray(int capacity) {
+        super(capacity);
+    }
+
+    @Override
+    public void add(@Nullable Boolean bool) {
+        add(bool == null ? Null.INSTANCE : new Primitive(bool));
+    }
+
+    @Override
+    public void add(@Nullable Character character) {
+        add(character == null ? Null.INSTANCE : new Primitive(character));
+    }
+
+    @Override
+    public void add(@Nullable Number number) {
+        add(number == null ? Null.INSTANCE : new Primitive(number));
+    }
+
+    @Override
+    public void add(@Nullable String string) {
+        add(string == null ? Null.INSTANCE : new Primitive(string));
+    }
+
+    @Override
+    public void add(@Nullable Value value) {
+        super.add(value);
+        watch(value);
+        notifyChange("");
+    }
+
+    @Override
+    public void addAll(@NonNull Array array) {
+        super.addAll(array);
+        for (int i = 0; i < array.size(); i++) {
+            watch(array.get(i));
+        }
+        notifyChange("");
+    }
+
+    @Override
+    public Value set(int index, @NonNull Value value) {
+        Value previous = super.set(index, value);
+        unwatch(previous);
+        watch(value);
+        notifyChange(String.valueOf(index));
+        return previous;
+    }
+
+    @Override
+    public boolean remove(@NonNull Value value) {
+        for (int i = 0; i < size(); i++) {
+            if (value.equals(get(i))) {
+                remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Value remove(int index) {
+        Value removed = super.remove(index);
+        unwatch(removed);
+        notifyChange("");
+        return removed;
+    }
+
+    @Override
+    public void addOnChangeListener(@NonNull OnChangeListener listener) {
+        if (!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    @Override
+    public void removeOnChangeListener(@NonNull OnChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @param path the path which changed, relative to this array.
+     */
+    protected void notifyChange(@NonNull String path) {
+        Set<OnChangeListener> targets = new LinkedHashSet<>(listeners);
+        for (OnChangeListener listener : targets) {
+            listener.onChange(this, path);
+        }
+    }
+
+    private void watch(@Nullable Value value) {
+        if (value instanceof Observable) {
+            ((Observable) value).addOnChangeListener(elementListener);
+        }
+    }
+
+    private void unwatch(@Nullable Value value) {
+        if (value instanceof Observable) {
+            for (int i = 0; i < size(); i++) {
+                if (get(i) == value) {
+                    // still an element at another index
+                    return;
+                }
+            }
+            ((Observable) value).removeOnChangeListener(elementListener);
+        }
+    }
+}
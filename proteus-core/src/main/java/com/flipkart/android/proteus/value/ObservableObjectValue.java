@@ -0,0 +1,281 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus.value;
+
+import android.support.annotation.NonNull;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * ObservableObjectValue
+ * <p>
+ * An {@link ObjectValue} which dispatches a change every time a member is added, replaced or
+ * removed, and every time an {@link Observable} member changes. Besides plain listeners, it
+ * accepts subscriptions to paths: a subscriber is notified only when its path, an ancestor
+ * or a descendant of its path changes.
+ * </p>
+ * <p>
+ * Listeners are called on the thread which modifies the value, before the modifying call
+ * returns.
+ * </p>
+ */
+public class ObservableObjectValue extends ObjectValue implements Observable {
+
+    private static final char DELIMITER = Binding.SIMPLE_DATA_PATH_DELIMITER.charAt(0);
+
+    private final List<OnChangeListener> listeners = new ArrayList<>();
+
+    private final TreeMap<String, List<OnChangeListener>> subscriptions = new TreeMap<>();
+
+    private final Map<String, MemberListener> watched = new HashMap<>();
+
+    @Override
+    public void add(String property, Value value) {
+        super.add(property, value);
+        unwatch(property);
+        watch(property, get(property));
+        notifyChange(property);
+    }
+
+    @Override
+    public Value remove(String property) {
+        Value removed = super.remove(property);
+        if (null != removed) {
+            unwatch(property);
+            notifyChange(property);
+        }
+        return removed;
+    }
+
+    /**
+     * Members replaced through {@link Map.Entry#setValue(Object)} or removed through the
+     * iterator of the returned set dispatch a change like {@link #add(String, Value)} and
+     * {@link #remove(String)} do.
+     */
+    @Override
+    public Set<Map.Entry<String, Value>> entrySet() {
+        return new EntrySet(super.entrySet());
+    }
+
+    @Override
+    public void addOnChangeListener(@NonNull OnChangeListener listener) {
+        if (!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    @Override
+    public void removeOnChangeListener(@NonNull OnChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Subscribes {@code listener} to the changes which affect {@code path}.
+     *
+     * @param path     the path to subscribe to, the empty path subscribes to all changes.
+     * @param listener the listener to notify.
+     */
+    public void subscribe(@NonNull String path, @NonNull OnChangeListener listener) {
+        List<OnChangeListener> list = subscriptions.get(path);
+        if (null == list) {
+            list = new ArrayList<>(1);
+            subscriptions.put(path, list);
+        }
+        if (!list.contains(listener)) {
+            list.add(listener);
+        }
+    }
+
+    /**
+     * @param path     the path the listener was subscribed to.
+     * @param listener the listener to remove.
+     */
+    public void unsubscribe(@NonNull String path, @NonNull OnChangeListener listener) {
+        List<OnChangeListener> list = subscriptions.get(path);
+        if (null != list && list.remove(listener) && list.isEmpty()) {
+            subscriptions.remove(path);
+        }
+    }
+
+    /**
+     * Notifies the listeners and the subscribers of {@code path}. The subscribers are
+     * collected before any of them is called, so they are free to subscribe or unsubscribe.
+     *
+     * @param path the path which changed.
+     */
+    protected void notifyChange(@NonNull String path) {
+        Set<OnChangeListener> targets = new LinkedHashSet<>(listeners);
+
+        if (!subscriptions.isEmpty()) {
+            // subscribers to the path and its ancestors
+            collect(targets, "");
+            int end = path.indexOf(DELIMITER);
+            while (end >= 0) {
+                collect(targets, path.substring(0, end));
+                end = path.indexOf(DELIMITER, end + 1);
+            }
+            if (!path.isEmpty()) {
+                collect(targets, path);
+                // subscribers to the descendants of the path
+                for (List<OnChangeListener> list : subscriptions.subMap(path + DELIMITER, path + (char) (DELIMITER + 1)).values()) {
+                    targets.addAll(list);
+                }
+            } else {
+                for (List<OnChangeListener> list : subscriptions.values()) {
+                    targets.addAll(list);
+                }
+            }
+        }
+
+        for (OnChangeListener listener : targets) {
+            listener.onChange(this, path);
+        }
+    }
+
+    private void collect(Set<OnChangeListener> targets, String path) {
+        List<OnChangeListener> list = subscriptions.get(path);
+        if (null != list) {
+            targets.addAll(list);
+        }
+    }
+
+    private void watch(String property, Value value) {
+        if (value instanceof Observable) {
+            MemberListener listener = new MemberListener(property, (Observable) value);
+            watched.put(property, listener);
+            listener.observable.addOnChangeListener(listener);
+        }
+    }
+
+    private void unwatch(String property) {
+        MemberListener listener = watched.remove(property);
+        if (null != listener) {
+            listener.observable.removeOnChangeListener(listener);
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Map.Entry<String, Value>> {
+
+        @NonNull
+        private final Set<Map.Entry<String, Value>> entries;
+
+        EntrySet(@NonNull Set<Map.Entry<String, Value>> entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public Iterator<Map.Entry<String, Value>> iterator() {
+            final Iterator<Map.Entry<String, Value>> iterator = entries.iterator();
+            return new Iterator<Map.Entry<String, Value>>() {
+
+                private Map.Entry<String, Value> current;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Map.Entry<String, Value> next() {
+                    current = iterator.next();
+                    return new Entry(current);
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                    unwatch(current.getKey());
+                    notifyChange(current.getKey());
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
+    }
+
+    private class Entry implements Map.Entry<String, Value> {
+
+        @NonNull
+        private final Map.Entry<String, Value> entry;
+
+        Entry(@NonNull Map.Entry<String, Value> entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public String getKey() {
+            return entry.getKey();
+        }
+
+        @Override
+        public Value getValue() {
+            return entry.getValue();
+        }
+
+        @Override
+        public Value setValue(Value value) {
+            Value previous = entry.setValue(null == value ? Null.INSTANCE : value);
+            unwatch(entry.getKey());
+            watch(entry.getKey(), entry.getValue());
+            notifyChange(entry.getKey());
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return entry.equals(o);
+        }
+
+        @Override
+        public int hashCode() {
+            return entry.hashCode();
+        }
+    }
+
+    private class MemberListener implements OnChangeListener {
+
+        @NonNull
+        private final String property;
+
+        @NonNull
+        private final Observable observable;
+
+        MemberListener(@NonNull String property, @NonNull Observable observable) {
+            this.property = property;
+            this.observable = observable;
+        }
+
+        @Override
+        public void onChange(@NonNull Observable source, @NonNull String path) {
+            notifyChange(path.isEmpty() ? property : property + DELIMITER + path);
+        }
+    }
+}
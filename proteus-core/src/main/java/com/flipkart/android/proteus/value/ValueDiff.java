@@ -0,0 +1,234 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus.value;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ValueDiff
+ * <p>
+ * Computes the differences between two data trees as a list of {@link Change}s, and applies
+ * such a list to a data tree in place. Paths use the same format as
+ * {@link Binding#collectPaths(Collection)}, so the paths returned by
+ * {@link #apply(ObjectValue, List)} can be passed straight to
+ * {@link com.flipkart.android.proteus.ProteusView.Manager#update(ObjectValue, Collection)}.
+ * </p>
+ *
+ * <pre>
+ * Collection&lt;String&gt; changed = ValueDiff.apply(data, patch);
+ * view.getViewManager().update(data, changed);
+ * </pre>
+ */
+public class ValueDiff {
+
+    private static final char DELIMITER = Binding.SIMPLE_DATA_PATH_DELIMITER.charAt(0);
+
+    private ValueDiff() {
+    }
+
+    /**
+     * Computes the changes which turn {@code before} into {@code after}. Sub-trees which are
+     * the same instance in both are not visited. Arrays which changed in size are reported as
+     * a single change of the whole array.
+     *
+     * @param before the old data.
+     * @param after  the new data.
+     * @return the list of changes, empty if the two are equal.
+     */
+    @NonNull
+    public static List<Change> diff(@NonNull Value before, @NonNull Value after) {
+        List<Change> changes = new ArrayList<>();
+        diff("", before, after, changes);
+        return changes;
+    }
+
+    /**
+     * Applies {@code patch} to {@code target} in place. Missing objects along a path are
+     * created. The values in the patch are not copied.
+     *
+     * @param target the data to modify.
+     * @param patch  the changes to apply.
+     * @return the paths which were changed.
+     * @throws IllegalArgumentException if a path cannot be resolved in {@code target}.
+     */
+    @NonNull
+    public static Collection<String> apply(@NonNull ObjectValue target, @NonNull List<Change> patch) {
+        Set<String> paths = new LinkedHashSet<>(patch.size());
+        for (Change change : patch) {
+            apply(target, change);
+            paths.add(change.path);
+        }
+        return paths;
+    }
+
+    private static void diff(String path, Value before, Value after, List<Change> changes) {
+        if (before == after) {
+            return;
+        }
+        if (before.isObject() && after.isObject()) {
+            diff(path, before.getAsObject(), after.getAsObject(), changes);
+        } else if (before.isArray() && after.isArray() && before.getAsArray().size() == after.getAsArray().size()) {
+            diff(path, before.getAsArray(), after.getAsArray(), changes);
+        } else if (!before.equals(after)) {
+            changes.add(new Change(path, after));
+        }
+    }
+
+    private static void diff(String path, ObjectValue before, ObjectValue after, List<Change> changes) {
+        Value value;
+        for (Map.Entry<String, Value> entry : after.entrySet()) {
+            value = before.get(entry.getKey());
+            if (null == value) {
+                changes.add(new Change(append(path, entry.getKey()), entry.getValue()));
+            } else {
+                diff(append(path, entry.getKey()), value, entry.getValue(), changes);
+            }
+        }
+        for (Map.Entry<String, Value> entry : before.entrySet()) {
+            if (!after.has(entry.getKey())) {
+                changes.add(new Change(append(path, entry.getKey()), null));
+            }
+        }
+    }
+
+    private static void diff(String path, Array before, Array after, List<Change> changes) {
+        for (int i = 0; i < after.size(); i++) {
+            diff(append(path, String.valueOf(i)), before.get(i), after.get(i), changes);
+        }
+    }
+
+    private static String append(String path, String key) {
+        return path.isEmpty() ? key : path + DELIMITER + key;
+    }
+
+    private static void apply(ObjectValue target, Change change) {
+        if (change.path.isEmpty()) {
+            if (null == change.value || !change.value.isObject()) {
+                throw new IllegalArgumentException("the root can only be replaced by an object");
+            }
+            List<String> keys = new ArrayList<>();
+            for (Map.Entry<String, Value> entry : target.entrySet()) {
+                keys.add(entry.getKey());
+            }
+            for (String key : keys) {
+                target.remove(key);
+            }
+            for (Map.Entry<String, Value> entry : change.value.getAsObject().entrySet()) {
+                target.add(entry.getKey(), entry.getValue());
+            }
+            return;
+        }
+
+        Value parent = target;
+        int start = 0;
+        int end = change.path.indexOf(DELIMITER);
+        while (end >= 0) {
+            parent = getOrCreate(parent, change.path, change.path.substring(start, end));
+            start = end + 1;
+            end = change.path.indexOf(DELIMITER, start);
+        }
+        String key = change.path.substring(start);
+
+        if (parent.isObject()) {
+            if (null == change.value) {
+                parent.getAsObject().remove(key);
+            } else {
+                parent.getAsObject().add(key, change.value);
+            }
+        } else if (parent.isArray()) {
+            Array array = parent.getAsArray();
+            int index = getIndex(change.path, key);
+            if (null == change.value) {
+                if (index < array.size()) {
+                    array.remove(index);
+                }
+            } else if (index == array.size()) {
+                array.add(change.value);
+            } else if (index < array.size()) {
+                array.set(index, change.value);
+            } else {
+                throw new IllegalArgumentException("index out of bounds in path: " + change.path);
+            }
+        } else {
+            throw new IllegalArgumentException("cannot resolve path: " + change.path);
+        }
+    }
+
+    private static Value getOrCreate(Value parent, String path, String key) {
+        Value child;
+        if (parent.isObject()) {
+            child = parent.getAsObject().get(key);
+            if (null == child || child.isNull()) {
+                child = new ObjectValue();
+                parent.getAsObject().add(key, child);
+            }
+        } else if (parent.isArray()) {
+            int index = getIndex(path, key);
+            if (index >= parent.getAsArray().size()) {
+                throw new IllegalArgumentException("index out of bounds in path: " + path);
+            }
+            child = parent.getAsArray().get(index);
+        } else {
+            throw new IllegalArgumentException("cannot resolve path: " + path);
+        }
+        return child;
+    }
+
+    private static int getIndex(String path, String key) {
+        try {
+            return Integer.parseInt(key);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("expected an index in path: " + path, e);
+        }
+    }
+
+    /**
+     * Change
+     * <p>
+     * The new value at a path, {@code null} if the value was removed.
+     * </p>
+     */
+    public static class Change {
+
+        @NonNull
+        public final String path;
+
+        @Nullable
+        public final Value value;
+
+        public Change(@NonNull String path, @Nullable Value value) {
+            this.path = path;
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return path + "=" + value;
+        }
+    }
+}
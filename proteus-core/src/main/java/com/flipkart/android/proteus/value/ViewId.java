@@ -0,0 +1,62 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus.value;
+
+import android.support.annotation.NonNull;
+
+/**
+ * ViewId
+ * <p>
+ * A view id resolved to the int generated for it by an
+ * {@link com.flipkart.android.proteus.IdGenerator}, when the layout is compiled.
+ * </p>
+ */
+public class ViewId extends Value {
+
+    @NonNull
+    public final String name;
+
+    public final int id;
+
+    public ViewId(@NonNull String name, int id) {
+        this.name = name;
+        this.id = id;
+    }
+
+    @Override
+    public ViewId copy() {
+        return this;
+    }
+
+    @Override
+    public String getAsString() {
+        return name;
+    }
+
+    @Override
+    public int getAsInt() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
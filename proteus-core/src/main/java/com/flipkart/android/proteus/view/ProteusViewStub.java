@@ -0,0 +1,84 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus.view;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.graphics.Canvas;
+import android.view.View;
+
+import com.flipkart.android.proteus.ProteusView;
+import com.flipkart.android.proteus.ViewStubManager;
+
+/**
+ * ProteusViewStub
+ * <p>
+ * An invisible, zero-sized view which stands in for a layout which is gone, like a
+ * {@link android.view.ViewStub}. Making it visible inflates the layout in its place.
+ * </p>
+ */
+public class ProteusViewStub extends View implements ProteusView {
+
+    Manager viewManager;
+
+    public ProteusViewStub(Context context) {
+        super(context);
+        setVisibility(GONE);
+        setWillNotDraw(true);
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        setMeasuredDimension(0, 0);
+    }
+
+    @SuppressLint("MissingSuperCall")
+    @Override
+    public void draw(Canvas canvas) {
+    }
+
+    @Override
+    protected void dispatchDraw(Canvas canvas) {
+    }
+
+    @Override
+    public void setVisibility(int visibility) {
+        if (visibility != GONE && viewManager instanceof ViewStubManager) {
+            ((ViewStubManager) viewManager).inflate().getAsView().setVisibility(visibility);
+        } else {
+            super.setVisibility(visibility);
+        }
+    }
+
+    @Override
+    public Manager getViewManager() {
+        return viewManager;
+    }
+
+    @Override
+    public void setViewManager(Manager manager) {
+        this.viewManager = manager;
+    }
+
+    @Override
+    public View getAsView() {
+        return this;
+    }
+}
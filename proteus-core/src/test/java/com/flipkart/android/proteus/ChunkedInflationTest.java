@@ -0,0 +1,187 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.support.annotation.NonNull;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * ChunkedInflationTest
+ */
+public class ChunkedInflationTest {
+
+    private final SimpleLayoutInflater inflater = mock(SimpleLayoutInflater.class);
+    private final ViewTypeParser parser = mock(ViewTypeParser.class);
+    private final Map<String, Array> children = new HashMap<>();
+    private final Map<ProteusView, String> types = new IdentityHashMap<>();
+    private final List<String> added = new ArrayList<>();
+    private final List<ProteusView> completed = new ArrayList<>();
+
+    private final ChunkedInflation.Listener listener = new ChunkedInflation.Listener() {
+        @Override
+        public void onComplete(@NonNull ProteusView view) {
+            completed.add(view);
+        }
+    };
+
+    private static Array layouts(String... types) {
+        Array array = new Array();
+        for (String type : types) {
+            array.add(new Layout(type, null, null, null));
+        }
+        return array;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        children.put("root", layouts("a", "b", "c"));
+        children.put("a", layouts("a1", "a2"));
+        children.put("c", layouts("c1"));
+
+        when(inflater.inflate(any(Layout.class), any(ObjectValue.class), any(ViewGroup.class), anyInt(),
+                any(ChunkedInflation.class), anyBoolean())).thenAnswer(new Answer<ProteusView>() {
+            @Override
+            public ProteusView answer(InvocationOnMock invocation) throws Throwable {
+                Layout layout = (Layout) invocation.getArguments()[0];
+                ChunkedInflation chunk = (ChunkedInflation) invocation.getArguments()[4];
+                ProteusView view = view(layout.type);
+                if (children.containsKey(layout.type)) {
+                    chunk.defer(parser, view, children.get(layout.type));
+                }
+                return view;
+            }
+        });
+        doAnswer(new Answer<Boolean>() {
+            @Override
+            public Boolean answer(InvocationOnMock invocation) throws Throwable {
+                ProteusView parent = (ProteusView) invocation.getArguments()[0];
+                ProteusView child = (ProteusView) invocation.getArguments()[1];
+                added.add(types.get(parent) + ">" + types.get(child));
+                return true;
+            }
+        }).when(parser).addView(any(ProteusView.class), any(ProteusView.class));
+    }
+
+    private ProteusView view(String type) {
+        ViewGroup group = mock(ViewGroup.class, withSettings().extraInterfaces(ProteusView.class));
+        ProteusView view = (ProteusView) group;
+        ProteusView.Manager manager = mock(ProteusView.Manager.class);
+        when(manager.getDataContext()).thenReturn(new DataContext());
+        when(view.getViewManager()).thenReturn(manager);
+        when(view.getAsView()).thenReturn(group);
+        types.put(view, type);
+        return view;
+    }
+
+    private TestInflation start(long budget) {
+        TestInflation inflation = new TestInflation(inflater, budget, listener);
+        inflation.start(new Layout("root", null, null, null), new ObjectValue(), null, -1);
+        return inflation;
+    }
+
+    @Test
+    public void inflateChunk() throws Exception {
+        // with no budget, every chunk inflates a single view
+        TestInflation inflation = start(0);
+        assertThat(inflation.posts, is(1));
+        assertThat(added.size(), is(0));
+
+        while (!inflation.isComplete()) {
+            int count = added.size();
+            inflation.inflateChunk();
+            assertThat(added.size(), is(count + 1));
+        }
+
+        // breadth first, each level in order
+        assertThat(added, is(Arrays.asList("root>a", "root>b", "root>c", "a>a1", "a>a2", "c>c1")));
+        assertThat(inflation.getChunkCount(), is(6));
+        assertThat(inflation.posts, is(6));
+        assertThat(completed.size(), is(1));
+        assertThat(completed.get(0), sameInstance(inflation.getRoot()));
+    }
+
+    @Test
+    public void inflateChunk_budget() throws Exception {
+        TestInflation inflation = start(10000);
+        inflation.inflateChunk();
+
+        assertThat(inflation.isComplete(), is(true));
+        assertThat(inflation.getChunkCount(), is(1));
+        assertThat(added, is(Arrays.asList("root>a", "root>b", "root>c", "a>a1", "a>a2", "c>c1")));
+        assertThat(completed.size(), is(1));
+    }
+
+    @Test
+    public void cancel() throws Exception {
+        TestInflation inflation = start(0);
+        inflation.inflateChunk();
+        inflation.cancel();
+        inflation.inflateChunk();
+
+        assertThat(added, is(Arrays.asList("root>a")));
+        assertThat(inflation.isCancelled(), is(true));
+        assertThat(inflation.isComplete(), is(false));
+        assertThat(completed.size(), is(0));
+    }
+
+    /**
+     * Runs the chunks when the test asks for them instead of on the next frames.
+     */
+    private static class TestInflation extends ChunkedInflation {
+
+        int posts;
+
+        TestInflation(@NonNull SimpleLayoutInflater inflater, long budget, ChunkedInflation.Listener listener) {
+            super(inflater, budget, listener);
+        }
+
+        @Override
+        void post() {
+            posts++;
+        }
+    }
+}
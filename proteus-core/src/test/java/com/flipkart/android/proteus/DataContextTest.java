@@ -0,0 +1,113 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.ObservableObjectValue;
+import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.Value;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * DataContextTest
+ */
+public class DataContextTest {
+
+    @Test
+    public void collectPaths() throws Exception {
+        List<String> paths = new ArrayList<>();
+        assertThat(Binding.DataBinding.valueOf("user.address[0].city").collectPaths(paths), is(true));
+        assertThat(Binding.DataBinding.valueOf("items.$index.name").collectPaths(paths), is(true));
+        assertThat(Binding.DataBinding.valueOf("$index").collectPaths(paths), is(true));
+        assertThat(paths, is(Arrays.asList("user.address.0.city", "items")));
+    }
+
+    @Test
+    public void isAffected() throws Exception {
+        Collection<String> changed = Arrays.asList("user.name", "count");
+        assertThat(Binding.isAffected("user", changed), is(true));
+        assertThat(Binding.isAffected("user.name.first", changed), is(true));
+        assertThat(Binding.isAffected("username", changed), is(false));
+        assertThat(Binding.isAffected("user.age", changed), is(false));
+        assertThat(Binding.isAffected("", changed), is(true));
+    }
+
+    @Test
+    public void getChangedPaths() throws Exception {
+        Map<String, Value> scope = new HashMap<>();
+        scope.put("user", Binding.DataBinding.valueOf("response.user"));
+        scope.put("title", new Primitive("title"));
+
+        DataContext dataContext = new DataContext();
+        dataContext.setScope(scope);
+
+        assertThat(new HashSet<>(dataContext.getChangedPaths(Arrays.asList("response.user.name", "user", "other"))),
+                is(new HashSet<>(Arrays.asList("response.user.name", "user", "other"))));
+        assertThat(new HashSet<>(dataContext.getIncomingPaths(Arrays.asList("user.name", "title", "other"))),
+                is(new HashSet<>(Arrays.asList("response.user", "other"))));
+    }
+
+    @Test
+    public void createChildScope_sharesUnscopedData() throws Exception {
+        ObservableObjectValue data = new ObservableObjectValue();
+        DataContext parent = new DataContext();
+        parent.setData(data);
+
+        assertThat(parent.createChildScope(null, null, 0).getData(), sameInstance((ObjectValue) data));
+        DataContext child = parent.createChildScope(null, Collections.<String, Value>emptyMap(), 0);
+        assertThat(child.getData(), sameInstance((ObjectValue) data));
+
+        // the data is shared, not copied
+        child.getData().addProperty("name", "a");
+        assertThat(data.getAsString("name"), is("a"));
+    }
+
+    @Test
+    public void createChildScope_copiesScopedData() throws Exception {
+        ObservableObjectValue data = new ObservableObjectValue();
+        data.addProperty("name", "a");
+        DataContext parent = new DataContext();
+        parent.setData(data);
+
+        DataContext child = parent.createChildScope(null, Collections.<String, Value>singletonMap("title", new Primitive("b")), 0);
+        assertThat(child.getData(), not(sameInstance((ObjectValue) data)));
+        assertThat(child.getData() instanceof ObservableObjectValue, is(false));
+        assertThat(child.getData().getAsString("name"), is("a"));
+        assertThat(child.getData().getAsString("title"), is("b"));
+        assertThat(data.get("title"), nullValue());
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.Value;
+
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * FunctionTest
+ */
+public class FunctionTest {
+
+    private static final int THREADS = 8;
+    private static final int CALLS = 500;
+
+    @Test
+    public void date() throws Exception {
+        assertThat(Function.DATE.call(null, 0, new Primitive("2017-03-05 10:20:30"), new Primitive("dd/MM/yyyy")).getAsString(), is("05/03/2017"));
+    }
+
+    @Test
+    public void date_concurrent() throws Exception {
+        final SimpleDateFormat in = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        final SimpleDateFormat out = new SimpleDateFormat("E, d MMM");
+        final String[] dates = new String[28];
+        final String[] expected = new String[dates.length];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = String.format("2017-%02d-%02d 10:20:30", i % 12 + 1, i + 1);
+            expected[i] = out.format(in.parse(dates[i]));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                final int offset = t;
+                results.add(executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws Exception {
+                        int mismatches = 0;
+                        for (int i = 0; i < CALLS; i++) {
+                            int index = (i + offset) % dates.length;
+                            Value value = Function.DATE.call(null, 0, new Primitive(dates[index]));
+                            if (!expected[index].equals(value.getAsString())) {
+                                mismatches++;
+                            }
+                        }
+                        return mismatches;
+                    }
+                }));
+            }
+            for (Future<Integer> result : results) {
+                assertThat(result.get(), is(0));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void number_concurrent() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                results.add(executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws Exception {
+                        int mismatches = 0;
+                        for (int i = 0; i < CALLS; i++) {
+                            String expected = String.format("%,d", 1000 + i);
+                            if (!expected.equals(Function.NUMBER.call(null, 0, new Primitive(1000 + i)).getAsString())) {
+                                mismatches++;
+                            }
+                        }
+                        return mismatches;
+                    }
+                }));
+            }
+            for (Future<Integer> result : results) {
+                assertThat(result.get(), is(0));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.view.View;
+
+import com.flipkart.android.proteus.processor.AttributeProcessor;
+import com.flipkart.android.proteus.toolbox.Attributes;
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.Value;
+import com.flipkart.android.proteus.value.ViewId;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * LayoutPlanTest
+ */
+public class LayoutPlanTest {
+
+    private static final int VISIBILITY = 7;
+
+    private static final int ID = 3;
+
+    private static LayoutPlan compile(Value visibility, boolean lazy) {
+        return compile(visibility, lazy, null);
+    }
+
+    private static LayoutPlan compile(Value visibility, boolean lazy, Value id) {
+        AttributeProcessor processor = mock(AttributeProcessor.class);
+        when(processor.link(any(Value.class), any(IdGenerator.class))).then(returnsFirstArg());
+        ViewTypeParser parser = mock(ViewTypeParser.class);
+        when(parser.getAttributeId(Attributes.ViewGroup.Children)).thenReturn(-1);
+        when(parser.getAttributeId(Attributes.View.Visibility)).thenReturn(VISIBILITY);
+        when(parser.getAttributeId(Attributes.View.Id)).thenReturn(ID);
+        when(parser.getAttributeProcessor(VISIBILITY)).thenReturn(processor);
+        when(parser.getAttributeProcessor(ID)).thenReturn(processor);
+        ProteusContext context = mock(ProteusContext.class);
+        when(context.getParser("View")).thenReturn(parser);
+
+        ObjectValue extras = new ObjectValue();
+        if (lazy) {
+            extras.addProperty(ProteusConstants.LAZY, true);
+        }
+        List<Layout.Attribute> attributes = new ArrayList<>();
+        attributes.add(new Layout.Attribute(VISIBILITY, visibility));
+        if (null != id) {
+            attributes.add(new Layout.Attribute(ID, id));
+        }
+        Layout layout = new Layout("View", attributes, null, extras);
+        return LayoutPlan.compile(context, new SimpleIdGenerator(), layout, new HashMap<Layout, LayoutPlan>());
+    }
+
+    @Test
+    public void stub_requiresLazy() throws Exception {
+        assertThat(compile(new Primitive("gone"), false).stub, nullValue());
+        assertThat(compile(Binding.DataBinding.valueOf("hidden"), false).stub, nullValue());
+    }
+
+    @Test
+    public void stub_lazy() throws Exception {
+        Value gone = new Primitive("gone");
+        assertThat(compile(gone, true).stub.value, sameInstance(gone));
+        Value bound = Binding.DataBinding.valueOf("hidden");
+        assertThat(compile(bound, true).stub.value, sameInstance(bound));
+        assertThat(compile(new Primitive("visible"), true).stub, nullValue());
+    }
+
+    @Test
+    public void stub_id() throws Exception {
+        Value gone = new Primitive("gone");
+        assertThat(compile(gone, true, new ViewId("title", 9)).id, is(9));
+        assertThat(compile(gone, true, Binding.DataBinding.valueOf("id")).id, is(View.NO_ID));
+        assertThat(compile(gone, true).id, is(View.NO_ID));
+    }
+
+    @Test
+    public void compile_keepsAttributes() throws Exception {
+        LayoutPlan plan = compile(new Primitive("gone"), false);
+        assertThat(plan.size(), is(1));
+        assertThat(plan.getValue(0).getAsString(), is("gone"));
+    }
+}
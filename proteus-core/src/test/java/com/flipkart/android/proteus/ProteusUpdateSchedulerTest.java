@@ -0,0 +1,85 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import com.flipkart.android.proteus.value.ObjectValue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * ProteusUpdateSchedulerTest
+ */
+public class ProteusUpdateSchedulerTest {
+
+    private final ObjectValue first = new ObjectValue();
+    private final ObjectValue second = new ObjectValue();
+
+    @Test
+    public void merge_paths() throws Exception {
+        ProteusUpdateScheduler.PendingUpdate update = new ProteusUpdateScheduler.PendingUpdate();
+        update.merge(first, Collections.singletonList("title"));
+        update.merge(second, Arrays.asList("count", "title"));
+
+        assertThat(update.data, sameInstance(second));
+        assertThat(update.changedPaths, is(new HashSet<>(Arrays.asList("title", "count"))));
+    }
+
+    @Test
+    public void merge_full() throws Exception {
+        ProteusUpdateScheduler.PendingUpdate update = new ProteusUpdateScheduler.PendingUpdate();
+        update.merge(first, Collections.singletonList("title"));
+        update.merge(second, null);
+        update.merge(first, Collections.singletonList("count"));
+
+        // a full update absorbs the incremental ones
+        assertThat(update.data, sameInstance(first));
+        assertThat(update.changedPaths, nullValue());
+    }
+
+    @Test
+    public void merge_nullData() throws Exception {
+        ProteusUpdateScheduler.PendingUpdate update = new ProteusUpdateScheduler.PendingUpdate();
+        update.merge(first, Collections.singletonList("title"));
+        // an in place change of the data the view is bound to
+        update.merge(null, Collections.singletonList("count"));
+
+        assertThat(update.data, sameInstance(first));
+        assertThat(update.changedPaths, is(new HashSet<>(Arrays.asList("title", "count"))));
+    }
+
+    @Test
+    public void merge_nullDataFull() throws Exception {
+        ProteusUpdateScheduler.PendingUpdate update = new ProteusUpdateScheduler.PendingUpdate();
+        update.merge(second, null);
+        update.merge(null, null);
+
+        assertThat(update.data, sameInstance(second));
+        assertThat(update.changedPaths, nullValue());
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.exceptions.ProteusInflateException;
+import com.flipkart.android.proteus.parser.IncludeParser;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ProteusViewPoolTest
+ */
+public class ProteusViewPoolTest {
+
+    private static ProteusView view(Layout layout) {
+        return view(layout, null);
+    }
+
+    private static ProteusView view(Layout layout, ProteusContext context) {
+        DataContext dataContext = mock(DataContext.class);
+        ProteusView.Manager manager = mock(ProteusView.Manager.class);
+        when(manager.getLayout()).thenReturn(layout);
+        when(manager.getContext()).thenReturn(context);
+        when(manager.getDataContext()).thenReturn(dataContext);
+        ProteusView view = mock(ProteusView.class);
+        when(view.getViewManager()).thenReturn(manager);
+        when(view.getAsView()).thenReturn(mock(View.class));
+        return view;
+    }
+
+    private static ProteusContext context(ProteusViewPool pool) {
+        ProteusContext context = mock(ProteusContext.class);
+        when(context.getViewPool()).thenReturn(pool);
+        return context;
+    }
+
+    @Test
+    public void acquire_release() throws Exception {
+        Layout layout = new Layout("View", null, null, null);
+        ProteusViewPool pool = new ProteusViewPool(2);
+        ProteusView a = view(layout), b = view(layout), c = view(layout);
+
+        assertThat(pool.acquire(layout), nullValue());
+        assertThat(pool.release(a), is(true));
+        assertThat(pool.release(b), is(true));
+        assertThat(pool.release(c), is(false));
+        assertThat(pool.size(), is(2));
+
+        // keyed by identity
+        assertThat(pool.acquire(new Layout("View", null, null, null)), nullValue());
+
+        assertThat(pool.acquire(layout), sameInstance(a));
+        assertThat(pool.acquire(layout), sameInstance(b));
+        assertThat(pool.acquire(layout), nullValue());
+        assertThat(pool.getHitCount(), is(2L));
+        assertThat(pool.getMissCount(), is(3L));
+    }
+
+    @Test
+    public void acquire_context() throws Exception {
+        Layout layout = new Layout("View", null, null, null);
+        ProteusViewPool pool = new ProteusViewPool();
+        ProteusContext a = context(pool), b = context(pool);
+        ProteusView view = view(layout, a);
+        pool.release(view);
+
+        assertThat(pool.acquire(layout, b), nullValue());
+        assertThat(pool.acquire(layout, a), sameInstance(view));
+    }
+
+    @Test
+    public void acquire_dropsLayout() throws Exception {
+        Layout layout = new Layout("View", null, null, null);
+        ProteusViewPool pool = new ProteusViewPool();
+        pool.release(view(layout));
+        assertThat(pool.acquire(layout), notNullValue());
+
+        WeakReference<Layout> reference = new WeakReference<>(layout);
+        //noinspection UnusedAssignment
+        layout = null;
+        // mockito remembers the last stubbed invocation, which leads to the layout
+        view(new Layout("View", null, null, null));
+        for (int i = 0; i < 20 && null != reference.get(); i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertThat(reference.get(), nullValue());
+    }
+
+    @Test
+    public void wrapper_sharesPool() throws Exception {
+        Context base = mock(Context.class);
+        when(base.getApplicationContext()).thenReturn(mock(Context.class));
+        ProteusContext context = new ProteusBuilder().build().createContext(base);
+        assertThat(new ProteusContextWrapper(context).getViewPool(), sameInstance(context.getViewPool()));
+    }
+
+    @Test
+    public void clear() throws Exception {
+        Layout layout = new Layout("View", null, null, null);
+        ProteusViewPool pool = new ProteusViewPool();
+        pool.release(view(layout));
+        pool.onTrimMemory(0);
+        assertThat(pool.size(), is(0));
+    }
+
+    @Test
+    public void inflate_rebindsPooledRoot() throws Exception {
+        Layout layout = new Layout("View", null, null, null);
+        ProteusViewPool pool = new ProteusViewPool();
+        ProteusContext context = context(pool);
+        ProteusView view = view(layout, context);
+        pool.release(view);
+
+        ObjectValue data = new ObjectValue();
+        SimpleLayoutInflater inflater = new SimpleLayoutInflater(context, new SimpleIdGenerator());
+        assertThat(inflater.inflate(layout, data, null, 3), sameInstance(view));
+
+        verify(view.getViewManager().getDataContext()).setIndex(3);
+        verify(view.getViewManager()).update(data);
+    }
+
+    @Test
+    public void inflate_rebindsPooledInclude() throws Exception {
+        Layout include = new Layout("include", null, null, null);
+        Layout merged = new Layout("View", null, null, null);
+        ProteusViewPool pool = new ProteusViewPool();
+        ProteusContext context = context(pool);
+        when(context.getParser("include")).thenReturn(new IncludeParser<>());
+        when(context.getInclude(include)).thenReturn(merged);
+
+        // released under the layout of its root
+        ProteusView view = view(merged, context);
+        pool.release(view);
+
+        SimpleLayoutInflater inflater = new SimpleLayoutInflater(context, new SimpleIdGenerator());
+        assertThat(inflater.inflate(include, new ObjectValue(), null, 0), sameInstance(view));
+        assertThat(pool.getHitCount(), is(1L));
+    }
+
+    @Test
+    public void inflate_childIsNotPooled() throws Exception {
+        Layout layout = new Layout("View", null, null, null);
+        ProteusViewPool pool = new ProteusViewPool();
+        pool.release(view(layout));
+
+        SimpleLayoutInflater inflater = new SimpleLayoutInflater(context(pool), new SimpleIdGenerator());
+        try {
+            // there is no parser for the layout, so a fresh inflation fails
+            inflater.inflate(layout, new ObjectValue(), mock(ViewGroup.class), -1);
+        } catch (ProteusInflateException e) {
+            assertThat(pool.size(), is(1));
+            return;
+        }
+        throw new AssertionError("the pooled tree was used for a child");
+    }
+}
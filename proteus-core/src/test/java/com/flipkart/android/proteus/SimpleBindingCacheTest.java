@@ -0,0 +1,76 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import com.flipkart.android.proteus.value.Binding;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * SimpleBindingCacheTest
+ */
+public class SimpleBindingCacheTest {
+
+    @Test
+    public void statistics() throws Exception {
+        SimpleBindingCache cache = new SimpleBindingCache();
+        Binding binding = Binding.DataBinding.valueOf("a.b");
+
+        assertThat(cache.get("@{a.b}"), nullValue());
+        cache.put("@{a.b}", binding);
+        assertThat(cache.get("@{a.b}"), sameInstance(binding));
+        assertThat(cache.get("@{a.b}"), sameInstance(binding));
+
+        assertThat(cache.getHitCount(), is(2L));
+        assertThat(cache.getMissCount(), is(1L));
+        assertThat(cache.getEvictionCount(), is(0L));
+    }
+
+    @Test
+    public void eviction() throws Exception {
+        SimpleBindingCache cache = new SimpleBindingCache(64);
+        Binding binding = Binding.DataBinding.valueOf("a");
+        for (int i = 0; i < 1000; i++) {
+            cache.put("@{a" + i + "}", binding);
+        }
+        assertThat(cache.size() <= 64, is(true));
+        assertThat(cache.getEvictionCount(), is(1000L - cache.size()));
+    }
+
+    @Test
+    public void valueOf_cachesFunctionBindings() throws Exception {
+        HashMap<String, Function> functions = new HashMap<>();
+        functions.put(Function.NOT.getName(), Function.NOT);
+        SimpleBindingCache cache = new SimpleBindingCache();
+        FunctionManager manager = new FunctionManager(functions, cache);
+
+        Binding binding = Binding.valueOf("@{fn:not(@{a})}", null, manager);
+        assertThat(Binding.valueOf(new String("@{fn:not(@{a})}"), null, manager), sameInstance(binding));
+        assertThat(cache.getHitCount(), is(1L));
+        assertThat(cache.getMissCount(), is(1L));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * SimpleIdGeneratorTest
+ */
+public class SimpleIdGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int KEYS = 500;
+
+    @Test
+    public void getUnique() throws Exception {
+        SimpleIdGenerator generator = new SimpleIdGenerator();
+        int a = generator.getUnique("a");
+        assertThat(generator.getUnique("a"), is(a));
+        assertThat(generator.getUnique("b"), not(a));
+    }
+
+    @Test
+    public void restore() throws Exception {
+        SimpleIdGenerator generator = new SimpleIdGenerator();
+        int a = generator.getUnique("a");
+        int b = generator.getUnique("b");
+
+        // the state written to and read from a Parcel
+        SimpleIdGenerator restored = new SimpleIdGenerator(generator.getNextId(), generator.getIds());
+        assertThat(restored.getUnique("a"), is(a));
+        assertThat(restored.getUnique("b"), is(b));
+
+        int c = restored.getUnique("c");
+        assertThat(c, not(a));
+        assertThat(c, not(b));
+        assertThat(c, is(generator.getUnique("c")));
+    }
+
+    @Test
+    public void getUnique_concurrent() throws Exception {
+        final SimpleIdGenerator generator = new SimpleIdGenerator();
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<int[]>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(new Callable<int[]>() {
+                @Override
+                public int[] call() throws Exception {
+                    start.await();
+                    int[] ids = new int[KEYS];
+                    for (int i = 0; i < KEYS; i++) {
+                        ids[i] = generator.getUnique("key" + i);
+                    }
+                    return ids;
+                }
+            }));
+        }
+        start.countDown();
+
+        int[] first = futures.get(0).get();
+        for (Future<int[]> future : futures) {
+            assertThat(future.get(), is(first));
+        }
+        executor.shutdown();
+
+        Set<Integer> unique = new HashSet<>();
+        for (int id : first) {
+            unique.add(id);
+        }
+        assertThat(unique.size(), is(KEYS));
+    }
+}
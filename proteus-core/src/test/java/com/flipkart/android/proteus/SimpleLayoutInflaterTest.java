@@ -0,0 +1,147 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.support.annotation.NonNull;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.processor.AttributeProcessor;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.Value;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * SimpleLayoutInflaterTest
+ */
+public class SimpleLayoutInflaterTest {
+
+    private static final int ATTRIBUTE = 4;
+
+    private final Layout layout = new Layout("View", null, null, null);
+    private final ProteusViewPool pool = new ProteusViewPool();
+    private final ViewTypeParser parser = mock(ViewTypeParser.class);
+    private final ProteusView created = mock(ProteusView.class);
+    private final ProteusContext context = mock(ProteusContext.class);
+
+    {
+        when(context.getViewPool()).thenReturn(pool);
+        when(context.getParser("View")).thenReturn(parser);
+        when(parser.createView(any(ProteusContext.class), any(Layout.class), any(ObjectValue.class), any(ViewGroup.class), anyInt())).thenReturn(created);
+    }
+
+    private Layout attributed(Value value) {
+        AttributeProcessor processor = mock(AttributeProcessor.class);
+        when(processor.link(any(Value.class), any(IdGenerator.class))).then(returnsFirstArg());
+        when(parser.getAttributeProcessor(ATTRIBUTE)).thenReturn(processor);
+        when(parser.getAttributeId(anyString())).thenReturn(-1);
+        when(created.getAsView()).thenReturn(mock(View.class));
+        return new Layout("View", Collections.singletonList(new Layout.Attribute(ATTRIBUTE, value)), null, null);
+    }
+
+    @Test
+    public void inflate_appliesThroughParser() throws Exception {
+        Value value = new Primitive("a");
+        Layout layout = attributed(value);
+
+        new SimpleLayoutInflater(context, new SimpleIdGenerator()).inflate(layout, new ObjectValue());
+        verify(parser).handleAttribute(created.getAsView(), ATTRIBUTE, value);
+    }
+
+    @Test
+    public void inflate_callsHook() throws Exception {
+        final List<Integer> handled = new ArrayList<>();
+        Layout layout = attributed(new Primitive("a"));
+
+        new SimpleLayoutInflater(context, new SimpleIdGenerator()) {
+            @Override
+            protected boolean handleAttribute(@NonNull ViewTypeParser parser, @NonNull ProteusView view, int attribute, @NonNull Value value) {
+                handled.add(attribute);
+                return true;
+            }
+        }.inflate(layout, new ObjectValue());
+
+        assertThat(handled, is(Collections.singletonList(ATTRIBUTE)));
+    }
+
+    @Test
+    public void compile_cached() throws Exception {
+        SimpleLayoutInflater first = new SimpleLayoutInflater(context, new SimpleIdGenerator());
+        SimpleLayoutInflater second = new SimpleLayoutInflater(context, new SimpleIdGenerator());
+
+        LayoutPlan plan = first.compile(layout);
+        assertThat(first.compile(layout), sameInstance(plan));
+
+        LayoutPlan other = second.compile(layout);
+        assertThat(other, not(sameInstance(plan)));
+        assertThat(first.compile(layout), sameInstance(plan));
+        assertThat(second.compile(layout), sameInstance(other));
+    }
+
+    @Test
+    public void inflateDetached_skipsPool() throws Exception {
+        ProteusView pooled = mock(ProteusView.class);
+        ProteusView.Manager manager = mock(ProteusView.Manager.class);
+        when(manager.getLayout()).thenReturn(layout);
+        when(pooled.getViewManager()).thenReturn(manager);
+        when(pooled.getAsView()).thenReturn(mock(View.class));
+        pool.release(pooled);
+
+        SimpleLayoutInflater inflater = new SimpleLayoutInflater(context, new SimpleIdGenerator());
+        assertThat(inflater.inflateDetached(layout, new ObjectValue(), null, -1), sameInstance(created));
+        assertThat(pool.size(), is(1));
+    }
+
+    @Test
+    public void inflateDetached_doesNotReadParent() throws Exception {
+        ViewGroup parent = mock(ViewGroup.class, withSettings().extraInterfaces(ProteusView.class));
+        ObjectValue data = new ObjectValue();
+
+        SimpleLayoutInflater inflater = new SimpleLayoutInflater(context, new SimpleIdGenerator());
+        assertThat(inflater.inflateDetached(layout, data, parent, 2), sameInstance(created));
+
+        verify((ProteusView) parent, never()).getViewManager();
+        verify(parser).onAfterCreateView(created, parent, 2);
+        verify(parser).createViewManager(eq(context), eq(created), eq(layout), eq(data), eq(parser), (ViewGroup) isNull(), eq(2));
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.content.Context;
+
+import com.flipkart.android.proteus.processor.AttributeProcessor;
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.Value;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * StyleManagerTest
+ */
+public class StyleManagerTest {
+
+    private static final int TEXT = 1;
+    private static final int COLOR = 2;
+
+    private final ProteusContext context = mock(ProteusContext.class);
+    private final ViewTypeParser parser = mock(ViewTypeParser.class);
+    private final AttributeProcessor processor = mock(AttributeProcessor.class);
+    private Styles styles;
+    private StyleManager manager;
+
+    private static Map<String, Value> style(String name, String value) {
+        Map<String, Value> style = new LinkedHashMap<>();
+        style.put(name, new Primitive(value));
+        return style;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        when(parser.getAttributeId(anyString())).thenReturn(-1);
+        when(parser.getAttributeId("text")).thenReturn(TEXT);
+        when(parser.getAttributeId("color")).thenReturn(COLOR);
+        when(parser.getAttributeProcessor(TEXT)).thenReturn(processor);
+        when(parser.getAttributeProcessor(COLOR)).thenReturn(processor);
+        when(processor.precompile(any(Value.class), any(Context.class), any(FunctionManager.class))).thenAnswer(new Answer<Value>() {
+            @Override
+            public Value answer(InvocationOnMock invocation) throws Throwable {
+                String value = ((Value) invocation.getArguments()[0]).getAsString();
+                return value.startsWith("@{") ? Binding.DataBinding.valueOf(value.substring(2, value.length() - 1)) : new Primitive(value + "!");
+            }
+        });
+
+        styles = new Styles();
+        styles.put("title", style("text", "Title"));
+        styles.put("red", style("color", "red"));
+        styles.put("bound", style("text", "@{name}"));
+        manager = new StyleManager() {
+            @Override
+            protected Styles getStyles() {
+                return styles;
+            }
+        };
+    }
+
+    @Test
+    public void compile() throws Exception {
+        Layout.Attribute[] attributes = manager.compile("title.red", parser, context);
+        assertThat(attributes.length, is(2));
+        assertThat(attributes[0].id, is(TEXT));
+        assertThat(attributes[0].value, is((Value) new Primitive("Title!")));
+        assertThat(attributes[1].id, is(COLOR));
+        assertThat(attributes[1].value, is((Value) new Primitive("red!")));
+    }
+
+    @Test
+    public void compile_unknown() throws Exception {
+        assertThat(manager.compile("missing", parser, context).length, is(0));
+    }
+
+    @Test
+    public void compile_keepsBindings() throws Exception {
+        Layout.Attribute[] attributes = manager.compile("bound", parser, context);
+        assertThat(attributes[0].value, sameInstance(styles.get("bound").get("text")));
+    }
+
+    @Test
+    public void compile_cached() throws Exception {
+        Layout.Attribute[] attributes = manager.compile("title", parser, context);
+        assertThat(manager.compile("title", parser, context), sameInstance(attributes));
+        verify(processor, times(1)).precompile(any(Value.class), any(Context.class), any(FunctionManager.class));
+
+        // each parser has its own attribute ids
+        ViewTypeParser other = mock(ViewTypeParser.class);
+        when(other.getAttributeId("text")).thenReturn(TEXT);
+        when(other.getAttributeProcessor(TEXT)).thenReturn(processor);
+        assertThat(manager.compile("title", other, context), not(sameInstance(attributes)));
+    }
+
+    @Test
+    public void invalidate() throws Exception {
+        Layout.Attribute[] attributes = manager.compile("title", parser, context);
+        styles.get("title").put("text", new Primitive("Changed"));
+        assertThat(manager.compile("title", parser, context), sameInstance(attributes));
+
+        manager.invalidate();
+        assertThat(manager.compile("title", parser, context)[0].value, is((Value) new Primitive("Changed!")));
+    }
+
+    @Test
+    public void invalidate_stylesReplaced() throws Exception {
+        Layout.Attribute[] attributes = manager.compile("title", parser, context);
+
+        Styles replaced = new Styles();
+        replaced.put("title", style("text", "Replaced"));
+        styles = replaced;
+        Layout.Attribute[] compiled = manager.compile("title", parser, context);
+        assertThat(compiled, not(sameInstance(attributes)));
+        assertThat(compiled[0].value, is((Value) new Primitive("Replaced!")));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.processor.AttributeProcessor;
+import com.flipkart.android.proteus.toolbox.Attributes;
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.NestedBinding;
+import com.flipkart.android.proteus.value.ObjectValue;
+
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * ViewGroupManagerTest
+ */
+public class ViewGroupManagerTest {
+
+    private static final int CHILDREN = 3;
+
+    private final ProteusView.Manager child = mock(ProteusView.Manager.class);
+    private final DataContext dataContext = new DataContext();
+    private final ViewGroupManager manager;
+
+    {
+        ObjectValue config = new ObjectValue();
+        config.add(ProteusConstants.COLLECTION, Binding.DataBinding.valueOf("items"));
+        config.add(ProteusConstants.LAYOUT, new Layout("View", null, null, null));
+        Layout layout = new Layout("ViewGroup", Collections.singletonList(new Layout.Attribute(CHILDREN, NestedBinding.valueOf(config))), null, null);
+
+        AttributeProcessor processor = mock(AttributeProcessor.class);
+        ViewTypeParser parser = mock(ViewTypeParser.class);
+        when(parser.getAttributeId(anyString())).thenReturn(-1);
+        when(parser.getAttributeId(Attributes.ViewGroup.Children)).thenReturn(CHILDREN);
+        when(parser.getAttributeProcessor(anyInt())).thenReturn(processor);
+
+        View view = mock(View.class, withSettings().extraInterfaces(ProteusView.class));
+        when(((ProteusView) view).getViewManager()).thenReturn(child);
+        ViewGroup group = mock(ViewGroup.class);
+        when(group.getChildCount()).thenReturn(1);
+        when(group.getChildAt(0)).thenReturn(view);
+
+        manager = new ViewGroupManager(mock(ProteusContext.class), parser, group, layout, dataContext);
+        manager.hasDataBoundChildren = true;
+    }
+
+    @Test
+    public void onUpdate_childrenApplied() throws Exception {
+        manager.onUpdate(Collections.singletonList("items"));
+        verify(child, never()).update(any(ObjectValue.class), any(Collection.class));
+    }
+
+    @Test
+    public void onUpdate_childrenNotApplied() throws Exception {
+        Collection<String> changed = Collections.singletonList("title");
+        manager.onUpdate(changed);
+        verify(child).update(dataContext.getData(), changed);
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+import com.flipkart.android.proteus.processor.AttributeProcessor;
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.Value;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * ViewManagerTest
+ */
+public class ViewManagerTest {
+
+    private static final int A = 5;
+    private static final int B = 6;
+
+    private final ViewGroup root = mock(ViewGroup.class, withSettings().extraInterfaces(ProteusView.class));
+    private final View a = mock(View.class);
+    private final View b = mock(View.class);
+    private final ProteusContext context = mock(ProteusContext.class);
+    private ViewManager manager;
+
+    private static void setParent(View view, ViewParent parent) throws Exception {
+        // View#getParent() is final
+        Field field = View.class.getDeclaredField("mParent");
+        field.setAccessible(true);
+        field.set(view, parent);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        ProteusLayoutInflater inflater = mock(ProteusLayoutInflater.class);
+        when(inflater.getUniqueViewId("a")).thenReturn(A);
+        when(inflater.getUniqueViewId("b")).thenReturn(B);
+        when(context.getInflater()).thenReturn(inflater);
+
+        when(a.getId()).thenReturn(A);
+        when(b.getId()).thenReturn(B);
+        when(root.getId()).thenReturn(View.NO_ID);
+        when(root.getChildCount()).thenReturn(1);
+        when(root.getChildAt(0)).thenReturn(a);
+        setParent(a, root);
+
+        manager = new ViewManager(context, mock(ViewTypeParser.class), root, new Layout("ViewGroup", null, null, null), new DataContext());
+        when(((ProteusView) root).getViewManager()).thenReturn(manager);
+    }
+
+    @Test
+    public void findViewById() throws Exception {
+        assertThat(manager.findViewById("a"), sameInstance(a));
+        assertThat(manager.findViewById("b"), nullValue());
+    }
+
+    @Test
+    public void findViewById_added() throws Exception {
+        assertThat(manager.findViewById("b"), nullValue());
+
+        when(root.getChildCount()).thenReturn(2);
+        when(root.getChildAt(1)).thenReturn(b);
+        setParent(b, root);
+        manager.index(b);
+
+        assertThat(manager.findViewById("b"), sameInstance(b));
+        assertThat(manager.findViewById("a"), sameInstance(a));
+    }
+
+    @Test
+    public void findViewById_removed() throws Exception {
+        assertThat(manager.findViewById("a"), sameInstance(a));
+
+        when(root.getChildCount()).thenReturn(0);
+        setParent(a, null);
+
+        assertThat(manager.findViewById("a"), nullValue());
+    }
+
+    @Test
+    public void findViewById_idChanged() throws Exception {
+        assertThat(manager.findViewById("a"), sameInstance(a));
+
+        when(a.getId()).thenReturn(B);
+        manager.index(a);
+
+        assertThat(manager.findViewById("b"), sameInstance(a));
+        assertThat(manager.findViewById("a"), nullValue());
+    }
+
+    @Test
+    public void findViewById_missDoesNotWalk() throws Exception {
+        assertThat(manager.findViewById("a"), sameInstance(a));
+        assertThat(manager.findViewById("b"), nullValue());
+        assertThat(manager.findViewById("b"), nullValue());
+        // the tree was walked once, to build the index
+        verify(root).getChildAt(0);
+    }
+
+    @Test
+    public void invalidateDependencies_stopsAtUncomputed() throws Exception {
+        ViewGroup parent = mock(ViewGroup.class, withSettings().extraInterfaces(ProteusView.class));
+        setParent(root, parent);
+        manager.invalidateDependencies();
+        verify((ProteusView) parent, never()).getViewManager();
+    }
+
+    private BoundAttribute bind(AttributeProcessor processor) {
+        ViewTypeParser parser = mock(ViewTypeParser.class);
+        when(parser.getAttributeProcessor(A)).thenReturn(processor);
+        manager = new ViewManager(context, parser, root, new Layout("ViewGroup", null, null, null), new DataContext());
+        return new BoundAttribute(A, Binding.DataBinding.valueOf("title"));
+    }
+
+    @Test
+    public void handleBinding_skipsUnchanged() throws Exception {
+        AttributeProcessor processor = mock(AttributeProcessor.class);
+        when(processor.isIdempotent()).thenReturn(true);
+        when(processor.resolve(any(Binding.class), any(Context.class), any(Value.class), anyInt()))
+                .thenReturn(new Primitive("a"), new Primitive("a"), new Primitive("b"));
+        BoundAttribute boundAttribute = bind(processor);
+
+        manager.handleBinding(boundAttribute);
+        manager.handleBinding(boundAttribute);
+        verify(processor, times(1)).handleValue(root, new Primitive("a"));
+        verify(context).onBindingSkipped();
+
+        manager.handleBinding(boundAttribute);
+        verify(processor).handleValue(root, new Primitive("b"));
+        verify(context, times(2)).onBindingApplied();
+    }
+
+    @Test
+    public void handleBinding_notIdempotent() throws Exception {
+        AttributeProcessor processor = mock(AttributeProcessor.class);
+        when(processor.isIdempotent()).thenReturn(false);
+        when(processor.resolve(any(Binding.class), any(Context.class), any(Value.class), anyInt()))
+                .thenReturn(new Primitive("a"));
+        BoundAttribute boundAttribute = bind(processor);
+
+        manager.handleBinding(boundAttribute);
+        manager.handleBinding(boundAttribute);
+        verify(processor, times(2)).handleValue(root, new Primitive("a"));
+        verify(context, never()).onBindingSkipped();
+    }
+
+    @Test
+    public void handleBinding_unresolved() throws Exception {
+        AttributeProcessor processor = mock(AttributeProcessor.class);
+        when(processor.isIdempotent()).thenReturn(true);
+        BoundAttribute boundAttribute = bind(processor);
+
+        manager.handleBinding(boundAttribute);
+        manager.handleBinding(boundAttribute);
+        // left to the processor, which cannot be skipped
+        verify(processor, times(2)).handleBinding(root, boundAttribute.binding);
+        verify(processor, never()).handleValue(any(View.class), any(Value.class));
+    }
+}
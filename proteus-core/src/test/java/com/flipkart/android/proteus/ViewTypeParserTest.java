@@ -0,0 +1,228 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.processor.AttributeProcessor;
+import com.flipkart.android.proteus.value.AttributeResource;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.Resource;
+import com.flipkart.android.proteus.value.StyleResource;
+import com.flipkart.android.proteus.value.Value;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * ViewTypeParserTest
+ */
+public class ViewTypeParserTest {
+
+    private static final int BASE_ATTRIBUTES = 60;
+    private static final int MIDDLE_ATTRIBUTES = 10;
+    private static final int LEAF_ATTRIBUTES = 25;
+
+    private static TestParser[] hierarchy() {
+        TestParser base = new TestParser("base", null, BASE_ATTRIBUTES);
+        TestParser middle = new TestParser("middle", "base", MIDDLE_ATTRIBUTES);
+        TestParser leaf = new TestParser("leaf", "middle", LEAF_ATTRIBUTES);
+        base.prepare(null);
+        middle.prepare(base);
+        leaf.prepare(middle);
+        return new TestParser[]{base, middle, leaf};
+    }
+
+    @Test
+    public void handleAttribute_inherited() throws Exception {
+        TestParser[] parsers = hierarchy();
+        TestParser leaf = parsers[2];
+
+        for (TestParser parser : parsers) {
+            for (int i = 0; i < parser.count; i++) {
+                String name = parser.getType() + i;
+                int id = leaf.getAttributeId(name);
+                assertThat(leaf.handleAttribute(null, id, new Primitive(name)), is(true));
+                assertThat(parser.processors[i].last, is(name));
+                assertThat(leaf.getAttributeProcessor(id), sameInstance((AttributeProcessor) parser.processors[i]));
+            }
+        }
+    }
+
+    @Test
+    public void handleAttribute_unknown() throws Exception {
+        TestParser[] parsers = hierarchy();
+        TestParser leaf = parsers[2];
+        int total = BASE_ATTRIBUTES + MIDDLE_ATTRIBUTES + LEAF_ATTRIBUTES;
+
+        assertThat(leaf.getAttributeId("unknown"), is(-1));
+        assertThat(leaf.handleAttribute(null, -1, new Primitive(0)), is(false));
+        assertThat(leaf.handleAttribute(null, total, new Primitive(0)), is(false));
+        assertThat(leaf.getAttributeProcessor(total), nullValue());
+
+        // a parent does not know about the attributes of its children
+        assertThat(parsers[0].getAttributeId("leaf0"), is(-1));
+    }
+
+    @Ignore("benchmark, run manually")
+    @Test
+    public void benchmark_dispatch() throws Exception {
+        TestParser[] parsers = hierarchy();
+        TestParser leaf = parsers[2];
+        RecursiveDispatcher recursive = new RecursiveDispatcher(parsers);
+
+        // dispatch the attributes inherited from the base parser, as for padding on a TextView
+        int[] ids = new int[BASE_ATTRIBUTES];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = leaf.getAttributeId("base" + i);
+        }
+        Value value = new Primitive(1);
+        int iterations = 20000;
+
+        // warm up
+        run(leaf, recursive, ids, value, iterations, true);
+        run(leaf, recursive, ids, value, iterations, false);
+
+        long before = run(leaf, recursive, ids, value, iterations, true);
+        long after = run(leaf, recursive, ids, value, iterations, false);
+
+        System.out.println("ViewTypeParser dispatch of " + (iterations * ids.length) + " inherited attributes: "
+                + "parent chain " + (before / 1000000) + " ms, flattened table " + (after / 1000000) + " ms");
+    }
+
+    private static long run(TestParser leaf, RecursiveDispatcher recursive, int[] ids, Value value, int iterations, boolean chain) {
+        long start = System.nanoTime();
+        for (int n = 0; n < iterations; n++) {
+            for (int id : ids) {
+                if (chain) {
+                    recursive.handleAttribute(2, id, value);
+                } else {
+                    leaf.handleAttribute(null, id, value);
+                }
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Dispatches attributes the way {@link ViewTypeParser} did before the dispatch table was
+     * flattened: each level checks its own range and recurses into its parent otherwise.
+     */
+    private static class RecursiveDispatcher {
+
+        private final AttributeProcessor[][] processors;
+        private final int[] offsets;
+
+        RecursiveDispatcher(TestParser[] parsers) {
+            processors = new AttributeProcessor[parsers.length][];
+            offsets = new int[parsers.length];
+            int offset = 0;
+            for (int level = 0; level < parsers.length; level++) {
+                processors[level] = parsers[level].processors;
+                offsets[level] = -offset;
+                offset += parsers[level].count;
+            }
+        }
+
+        boolean handleAttribute(int level, int attributeId, Value value) {
+            int position = attributeId + offsets[level];
+            if (position < 0) {
+                return level > 0 && handleAttribute(level - 1, attributeId, value);
+            }
+            //noinspection unchecked
+            processors[level][position].process(null, value);
+            return true;
+        }
+    }
+
+    private static class TestParser extends ViewTypeParser<View> {
+
+        private final String type;
+        private final String parentType;
+        private final int count;
+        private final RecordingProcessor[] processors;
+
+        TestParser(String type, String parentType, int count) {
+            this.type = type;
+            this.parentType = parentType;
+            this.count = count;
+            this.processors = new RecordingProcessor[count];
+        }
+
+        @NonNull
+        @Override
+        public String getType() {
+            return type;
+        }
+
+        @Nullable
+        @Override
+        public String getParentType() {
+            return parentType;
+        }
+
+        @NonNull
+        @Override
+        public ProteusView createView(@NonNull ProteusContext context, @NonNull Layout layout, @NonNull ObjectValue data,
+                                      @Nullable ViewGroup parent, int dataIndex) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected void addAttributeProcessors() {
+            for (int i = 0; i < count; i++) {
+                processors[i] = new RecordingProcessor();
+                addAttributeProcessor(type + i, processors[i]);
+            }
+        }
+    }
+
+    private static class RecordingProcessor extends AttributeProcessor<View> {
+
+        String last;
+
+        @Override
+        public void handleValue(View view, Value value) {
+            last = value.getAsString();
+        }
+
+        @Override
+        public void handleResource(View view, Resource resource) {
+        }
+
+        @Override
+        public void handleAttributeResource(View view, AttributeResource attribute) {
+        }
+
+        @Override
+        public void handleStyleResource(View view, StyleResource style) {
+        }
+    }
+}
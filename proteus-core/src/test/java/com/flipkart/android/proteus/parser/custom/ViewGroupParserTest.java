@@ -0,0 +1,215 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus.parser.custom;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.DataContext;
+import com.flipkart.android.proteus.ProteusContext;
+import com.flipkart.android.proteus.ProteusLayoutInflater;
+import com.flipkart.android.proteus.ProteusView;
+import com.flipkart.android.proteus.ViewGroupManager;
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Primitive;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * ViewGroupParserTest
+ */
+public class ViewGroupParserTest {
+
+    private static final String KEY = "id";
+
+    private final Layout layout = new Layout("View", null, null, null);
+    private final List<View> children = new ArrayList<>();
+    private final Map<View, String> keys = new IdentityHashMap<>();
+    private final ViewGroupParser<ViewGroup> parser = new ViewGroupParser<>();
+    private ProteusLayoutInflater inflater;
+    private ViewGroup group;
+    private ViewGroupManager manager;
+
+    private static Array dataset(List<String> keys) {
+        Array dataset = new Array();
+        for (String key : keys) {
+            ObjectValue element = new ObjectValue();
+            element.addProperty(KEY, key);
+            dataset.add(element);
+        }
+        return dataset;
+    }
+
+    private static List<String> keys(int size) {
+        List<String> keys = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            keys.add("item" + i);
+        }
+        return keys;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        group = mock(ViewGroup.class, withSettings().extraInterfaces(ProteusView.class));
+        when(group.getChildCount()).thenAnswer(new Answer<Integer>() {
+            @Override
+            public Integer answer(InvocationOnMock invocation) throws Throwable {
+                return children.size();
+            }
+        });
+        when(group.getChildAt(anyInt())).thenAnswer(new Answer<View>() {
+            @Override
+            public View answer(InvocationOnMock invocation) throws Throwable {
+                return children.get((Integer) invocation.getArguments()[0]);
+            }
+        });
+        when(group.indexOfChild(any(View.class))).thenAnswer(new Answer<Integer>() {
+            @Override
+            public Integer answer(InvocationOnMock invocation) throws Throwable {
+                return children.indexOf(invocation.getArguments()[0]);
+            }
+        });
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                int index = (Integer) invocation.getArguments()[1];
+                children.add(index < 0 ? children.size() : index, (View) invocation.getArguments()[0]);
+                return null;
+            }
+        }).when(group).addView(any(View.class), anyInt());
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                children.remove(invocation.getArguments()[0]);
+                return null;
+            }
+        }).when(group).removeView(any(View.class));
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                children.remove((int) (Integer) invocation.getArguments()[0]);
+                return null;
+            }
+        }).when(group).removeViewAt(anyInt());
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                children.clear();
+                return null;
+            }
+        }).when(group).removeAllViews();
+
+        inflater = mock(ProteusLayoutInflater.class);
+        when(inflater.inflate(eq(layout), any(ObjectValue.class), eq(group), anyInt())).thenAnswer(new Answer<ProteusView>() {
+            @Override
+            public ProteusView answer(InvocationOnMock invocation) throws Throwable {
+                Array dataset = ((ObjectValue) invocation.getArguments()[1]).getAsArray("items");
+                int index = (Integer) invocation.getArguments()[3];
+                return (ProteusView) child(dataset.get(index).getAsObject().getAsString(KEY));
+            }
+        });
+        ProteusContext context = mock(ProteusContext.class);
+        when(context.getInflater()).thenReturn(inflater);
+
+        manager = new ViewGroupManager(context, parser, group, layout, new DataContext());
+        when(((ProteusView) group).getViewManager()).thenReturn(manager);
+    }
+
+    private View child(String key) {
+        View child = mock(View.class, withSettings().extraInterfaces(ProteusView.class));
+        ProteusView.Manager childManager = mock(ProteusView.Manager.class);
+        when(childManager.getDataContext()).thenReturn(new DataContext());
+        when(((ProteusView) child).getViewManager()).thenReturn(childManager);
+        when(((ProteusView) child).getAsView()).thenReturn(child);
+        keys.put(child, key);
+        return child;
+    }
+
+    private List<String> bind(List<String> next) {
+        Array dataset = dataset(next);
+        manager.getDataContext().getData().add("items", dataset);
+        parser.handleKeyedChildren(group, manager, layout, dataset, new Primitive(KEY));
+
+        List<String> bound = new ArrayList<>(children.size());
+        for (View child : children) {
+            bound.add(keys.get(child));
+        }
+        return bound;
+    }
+
+    @Test
+    public void handleKeyedChildren() throws Exception {
+        Random random = new Random(42);
+        for (int n = 0; n < 100; n++) {
+            List<String> previous = keys(random.nextInt(20));
+            assertThat(bind(previous), is(previous));
+
+            List<String> next = new ArrayList<>(previous);
+            Collections.shuffle(next, random);
+            next = next.subList(0, random.nextInt(next.size() + 1));
+            next.add(random.nextInt(next.size() + 1), "new" + n);
+
+            assertThat(bind(next), is(next));
+        }
+    }
+
+    @Test
+    public void handleKeyedChildren_reuses() throws Exception {
+        bind(keys(3));
+        View first = children.get(0);
+        View last = children.get(2);
+
+        // item0 item1 item2 -> item2 head item0
+        List<String> next = new ArrayList<>();
+        next.add("item2");
+        next.add("head");
+        next.add("item0");
+        assertThat(bind(next), is(next));
+        assertThat(children.get(0), sameInstance(last));
+        assertThat(children.get(2), sameInstance(first));
+        verify(inflater, times(4)).inflate(eq(layout), any(ObjectValue.class), eq(group), anyInt());
+        assertThat(((ProteusView) first).getViewManager().getDataContext().getIndex(), is(2));
+    }
+}
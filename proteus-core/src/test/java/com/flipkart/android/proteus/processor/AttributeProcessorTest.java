@@ -0,0 +1,88 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus.processor;
+
+import android.content.Context;
+import android.view.View;
+import android.widget.TextView;
+
+import com.flipkart.android.proteus.value.AttributeResource;
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.Resource;
+import com.flipkart.android.proteus.value.StyleResource;
+import com.flipkart.android.proteus.value.Value;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * AttributeProcessorTest
+ */
+public class AttributeProcessorTest {
+
+    private static class Processor<V extends View> extends AttributeProcessor<V> {
+
+        @Override
+        public void handleValue(V view, Value value) {
+        }
+
+        @Override
+        public void handleResource(V view, Resource resource) {
+        }
+
+        @Override
+        public void handleAttributeResource(V view, AttributeResource attribute) {
+        }
+
+        @Override
+        public void handleStyleResource(V view, StyleResource style) {
+        }
+    }
+
+    private final Binding binding = Binding.DataBinding.valueOf("name");
+
+    private final ObjectValue data = new ObjectValue();
+
+    {
+        data.addProperty("name", "proteus");
+    }
+
+    @Test
+    public void resolve() throws Exception {
+        Value value = new Processor<>().resolve(binding, mock(Context.class), data, 0);
+        assertThat(value.getAsString(), is("proteus"));
+    }
+
+    @Test
+    public void resolve_handlesBinding() throws Exception {
+        AttributeProcessor<TextView> processor = new Processor<TextView>() {
+            @Override
+            public void handleBinding(TextView view, Binding value) {
+            }
+        };
+        assertThat(processor.resolve(binding, mock(Context.class), data, 0), nullValue());
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus.processor;
+
+import android.view.View;
+
+import com.flipkart.android.proteus.IdGenerator;
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.Value;
+import com.flipkart.android.proteus.value.ViewId;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ViewIdProcessorTest
+ */
+public class ViewIdProcessorTest {
+
+    private final View view = mock(View.class);
+    private ViewId applied;
+
+    private final ViewIdProcessor<View> processor = new ViewIdProcessor<View>() {
+        @Override
+        public void setViewId(View view, ViewId id) {
+            applied = id;
+        }
+    };
+
+    @Test
+    public void link() throws Exception {
+        IdGenerator generator = mock(IdGenerator.class);
+        when(generator.getUnique("title")).thenReturn(7);
+
+        Value linked = processor.link(new Primitive("title"), generator);
+        assertThat(linked, instanceOf(ViewId.class));
+        assertThat(((ViewId) linked).name, is("title"));
+        assertThat(((ViewId) linked).id, is(7));
+
+        processor.handleValue(view, linked);
+        assertThat(applied, sameInstance(linked));
+    }
+
+    @Test
+    public void link_binding() throws Exception {
+        Value binding = Binding.DataBinding.valueOf("id");
+        assertThat(processor.link(binding, mock(IdGenerator.class)), sameInstance(binding));
+    }
+}
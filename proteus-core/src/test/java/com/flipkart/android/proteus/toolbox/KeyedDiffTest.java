@@ -0,0 +1,102 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus.toolbox;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * KeyedDiffTest
+ */
+public class KeyedDiffTest {
+
+    private static final int SIZE = 500;
+
+    private static List<String> keys(int size) {
+        List<String> keys = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            keys.add("item" + i);
+        }
+        return keys;
+    }
+
+    @Test
+    public void match() throws Exception {
+        int[] sources = KeyedDiff.match(Arrays.asList("a", "b", "c", "b"), Arrays.asList("b", "d", "b", "a"));
+        assertThat(sources, is(new int[]{1, KeyedDiff.NEW, 3, 0}));
+    }
+
+    @Test
+    public void stable() throws Exception {
+        // a b c -> b c a: only 'a' moves
+        int[] sources = KeyedDiff.match(Arrays.asList("a", "b", "c"), Arrays.asList("b", "c", "a"));
+        assertThat(KeyedDiff.stable(sources), is(new boolean[]{true, true, false}));
+
+        // a b c d -> d x b a: the longest increasing run has a single element
+        sources = KeyedDiff.match(Arrays.asList("a", "b", "c", "d"), Arrays.asList("d", "x", "b", "a"));
+        boolean[] stable = KeyedDiff.stable(sources);
+        assertThat(stable[1], is(false));
+        assertThat((stable[0] ? 1 : 0) + (stable[2] ? 1 : 0) + (stable[3] ? 1 : 0), is(1));
+    }
+
+    @Ignore("benchmark, run manually")
+    @Test
+    public void benchmark_head_insert() throws Exception {
+        List<String> previous = keys(SIZE);
+        List<String> next = new ArrayList<>(previous);
+        next.add(0, "head");
+        benchmark("head insert", previous, next);
+    }
+
+    @Ignore("benchmark, run manually")
+    @Test
+    public void benchmark_shuffle() throws Exception {
+        List<String> previous = keys(SIZE);
+        List<String> next = new ArrayList<>(previous);
+        Collections.shuffle(next, new Random(42));
+        benchmark("shuffle", previous, next);
+    }
+
+    private static void benchmark(String name, List<String> previous, List<String> next) {
+        int iterations = 1000;
+
+        // warm up
+        for (int n = 0; n < iterations; n++) {
+            KeyedDiff.stable(KeyedDiff.match(previous, next));
+        }
+
+        long start = System.nanoTime();
+        for (int n = 0; n < iterations; n++) {
+            KeyedDiff.stable(KeyedDiff.match(previous, next));
+        }
+        long time = System.nanoTime() - start;
+
+        System.out.println("Keyed diff, " + name + " of " + previous.size() + ": " + (time / iterations / 1000) + " us");
+    }
+}
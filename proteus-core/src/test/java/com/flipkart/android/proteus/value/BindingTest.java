@@ -19,6 +19,30 @@
 
 package com.flipkart.android.proteus.value;
 
+import android.support.annotation.NonNull;
+
+import com.flipkart.android.proteus.Function;
+import com.flipkart.android.proteus.FunctionManager;
+import com.flipkart.android.proteus.ProteusConstants;
+import com.flipkart.android.proteus.SimpleBindingCache;
+import com.flipkart.android.proteus.toolbox.Result;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.StringTokenizer;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
 /**
  * BindingTest
  *
@@ -26,6 +50,264 @@ package com.flipkart.android.proteus.value;
  */
 public class BindingTest {
 
+    private static final int DEPTH = 8;
+
+    private static ObjectValue items() {
+        Array items = new Array();
+        for (int i = 0; i < 3; i++) {
+            ObjectValue item = new ObjectValue();
+            item.addProperty("name", "item" + i);
+            items.add(item);
+        }
+        ObjectValue data = new ObjectValue();
+        data.add("items", items);
+        data.add("nothing", Null.INSTANCE);
+        return data;
+    }
+
+    /**
+     * Nests {@link #DEPTH} levels of objects and arrays under {@code a}, and returns the path
+     * to the leaf.
+     */
+    private static String deep(ObjectValue root) {
+        StringBuilder path = new StringBuilder("a");
+        ObjectValue current = root;
+        for (int i = 0; i < DEPTH; i++) {
+            ObjectValue next = new ObjectValue();
+            Array array = new Array();
+            array.add(new ObjectValue());
+            array.add(next);
+            ObjectValue holder = new ObjectValue();
+            holder.add("list", array);
+            current.add("a", holder);
+            current = next;
+            path.append(".list[1].a");
+        }
+        current.addProperty("a", "leaf");
+        return path.toString();
+    }
+
+    @Test
+    public void evaluate_steps() throws Exception {
+        ObjectValue data = items();
+        assertThat(Binding.DataBinding.valueOf("items[1].name").evaluate(null, data, 0).getAsString(), is("item1"));
+        assertThat(Binding.DataBinding.valueOf("items.$index.name").evaluate(null, data, 2).getAsString(), is("item2"));
+        assertThat(Binding.DataBinding.valueOf("items.$last.name").evaluate(null, data, 0).getAsString(), is("item2"));
+        assertThat(Binding.DataBinding.valueOf("items.$length").evaluate(null, data, 0).getAsInt(), is(3));
+        assertThat(Binding.DataBinding.valueOf("$index").evaluate(null, data, 4).getAsString(), is("4"));
+    }
+
+    @Test
+    public void evaluate_missing() throws Exception {
+        ObjectValue data = items();
+        assertThat(Binding.DataBinding.valueOf("items[3].name").evaluate(null, data, 0), sameInstance((Value) Null.INSTANCE));
+        assertThat(Binding.DataBinding.valueOf("items.$index").evaluate(null, data, -1), sameInstance((Value) Null.INSTANCE));
+        assertThat(Binding.DataBinding.valueOf("items.name").evaluate(null, data, 0), sameInstance((Value) Null.INSTANCE));
+        assertThat(Binding.DataBinding.valueOf("items[0].name.first").evaluate(null, data, 0), sameInstance((Value) Null.INSTANCE));
+        assertThat(Binding.DataBinding.valueOf("nothing.a").evaluate(null, data, 0), sameInstance((Value) Null.INSTANCE));
+    }
+
+    @Test
+    public void evaluate_indexAfterConstant() throws Exception {
+        Array outer = new Array();
+        Array inner = new Array();
+        inner.add("x");
+        inner.add("y");
+        outer.add(new Array());
+        outer.add(inner);
+        ObjectValue data = new ObjectValue();
+        data.add("grid", outer);
+        // $index resolves to the last constant index before it, as it always did
+        assertThat(Binding.DataBinding.valueOf("grid[1].$index").evaluate(null, data, 0).getAsString(), is("y"));
+        assertThat(Binding.DataBinding.valueOf("grid.$index.$index").evaluate(null, data, 1).getAsString(), is("y"));
+    }
+
+    @Test
+    public void evaluate_lazyArguments() throws Exception {
+        final int[] calls = new int[1];
+        Function counter = new Function() {
+            @NonNull
+            @Override
+            public Value call(Value data, int dataIndex, Value... arguments) throws Exception {
+                calls[0]++;
+                return ProteusConstants.TRUE;
+            }
+
+            @Override
+            public String getName() {
+                return "counter";
+            }
+        };
+        Value expensive = new Binding.FunctionBinding(counter, new Value[0]);
+        ObjectValue data = new ObjectValue();
+
+        Binding ternary = new Binding.FunctionBinding(Function.TERNARY, new Value[]{ProteusConstants.TRUE, new Primitive("a"), expensive});
+        assertThat(ternary.evaluate(null, data, 0).getAsString(), is("a"));
+
+        Binding and = new Binding.FunctionBinding(Function.AND, new Value[]{ProteusConstants.FALSE, expensive});
+        assertThat(and.evaluate(null, data, 0), sameInstance((Value) ProteusConstants.FALSE));
+
+        Binding or = new Binding.FunctionBinding(Function.OR, new Value[]{ProteusConstants.TRUE, expensive});
+        assertThat(or.evaluate(null, data, 0), sameInstance((Value) ProteusConstants.TRUE));
+
+        assertThat(calls[0], is(0));
+
+        Binding evaluated = new Binding.FunctionBinding(Function.OR, new Value[]{ProteusConstants.FALSE, expensive});
+        assertThat(evaluated.evaluate(null, data, 0), sameInstance((Value) ProteusConstants.TRUE));
+        assertThat(calls[0], is(1));
+    }
+
+    @Test
+    public void valueOf_cached() throws Exception {
+        SimpleBindingCache cache = new SimpleBindingCache();
+        FunctionManager manager = new FunctionManager(new HashMap<String, Function>(), cache);
+
+        Binding binding = Binding.valueOf("@{a.b}", null, manager);
+        assertThat(Binding.valueOf(new String("@{a.b}"), null, manager), sameInstance(binding));
+        assertThat(cache.getMissCount(), is(1L));
+        assertThat(cache.getHitCount(), is(1L));
+
+        // nothing is shared outside of the configured cache
+        FunctionManager other = new FunctionManager(new HashMap<String, Function>(), new SimpleBindingCache());
+        assertThat(Binding.valueOf("@{a.b}", null, other), not(sameInstance(binding)));
+    }
+
+    @Test
+    public void collectPaths_function() throws Exception {
+        Value[] arguments = new Value[]{Binding.DataBinding.valueOf("a.b"), Binding.DataBinding.valueOf("c")};
+
+        List<String> paths = new ArrayList<>();
+        assertThat(new Binding.FunctionBinding(Function.AND, arguments).collectPaths(paths), is(true));
+        assertThat(paths, is(Arrays.asList("a.b", "c")));
+
+        // an impure function can read anything in the data it is passed
+        assertThat(new Binding.FunctionBinding(Function.DATE, arguments).collectPaths(new ArrayList<String>()), is(false));
+    }
+
+    @Test
+    public void compile_constantFolding() throws Exception {
+        HashMap<String, Function> functions = new HashMap<>();
+        for (Function function : new Function[]{Function.TRIM, Function.CHAR_AT, Function.FORMAT, Function.NUMBER, Function.AND, Function.NOT}) {
+            functions.put(function.getName(), function);
+        }
+        FunctionManager manager = new FunctionManager(functions);
+
+        Value folded = Binding.compile("@{fn:trim(' 20 off ')}", null, manager);
+        assertThat(folded.isPrimitive(), is(true));
+        assertThat(folded.getAsString(), is("20 off"));
+
+        Value nested = Binding.compile("@{fn:and(true, @{fn:not('a')})}", null, manager);
+        assertThat(nested.isPrimitive(), is(true));
+        assertThat(nested.getAsBoolean(), is(false));
+
+        // a binding is still a binding
+        assertThat(Binding.valueOf("@{fn:trim(' 20 off ')}", null, manager), instanceOf(Binding.FunctionBinding.class));
+
+        // only the constant arguments fold
+        Value partial = Binding.compile("@{fn:and(@{a}, @{fn:not('a')})}", null, manager);
+        assertThat(partial, instanceOf(Binding.FunctionBinding.class));
+        Iterator<Value> arguments = ((Binding.FunctionBinding) partial).getTokens();
+        assertThat(arguments.next().isBinding(), is(true));
+        assertThat(arguments.next().getAsBoolean(), is(false));
+        assertThat(Binding.compile("@{fn:and(@{a}, @{fn:not('a')})}", null, manager), sameInstance(partial));
+
+        // reads the data
+        assertThat(Binding.compile("@{fn:trim(@{discount})}", null, manager).isBinding(), is(true));
+
+        // depend on the default locale
+        assertThat(Binding.compile("@{fn:number('1000')}", null, manager).isBinding(), is(true));
+        assertThat(Binding.compile("@{fn:format('%s off', '20')}", null, manager).isBinding(), is(true));
+
+        // fails, so it is left to fail when evaluated
+        assertThat(Binding.compile("@{fn:charAt('a', '5')}", null, manager).isBinding(), is(true));
+    }
+
+    @Test
+    public void evaluate_deepPath() throws Exception {
+        ObjectValue data = new ObjectValue();
+        String path = deep(data);
+
+        assertThat(Binding.DataBinding.valueOf(path).evaluate(null, data, 0).getAsString(), is("leaf"));
+        assertThat(legacy(tokenize(path), data, 0).value.getAsString(), is("leaf"));
+    }
+
+    @Ignore("benchmark, run manually")
+    @Test
+    public void benchmark_deepPath() throws Exception {
+        ObjectValue data = new ObjectValue();
+        String path = deep(data);
+        Binding binding = Binding.DataBinding.valueOf(path);
+        String[] tokens = tokenize(path);
+        int iterations = 200000;
+
+        // warm up
+        for (int i = 0; i < iterations; i++) {
+            binding.evaluate(null, data, 0);
+            legacy(tokens, data, 0);
+        }
+
+        long time = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            legacy(tokens, data, 0);
+        }
+        long strings = System.nanoTime() - time;
+
+        time = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            binding.evaluate(null, data, 0);
+        }
+        long steps = System.nanoTime() - time;
+
+        System.out.println("Data binding of " + tokens.length + " tokens, " + iterations + " times: "
+                + "string tokens " + (strings / 1000000) + " ms, classified steps " + (steps / 1000000) + " ms");
+    }
+
+    private static String[] tokenize(String path) {
+        StringTokenizer tokenizer = new StringTokenizer(path, Binding.DATA_PATH_DELIMITERS);
+        String[] tokens = new String[tokenizer.countTokens()];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = tokenizer.nextToken();
+        }
+        return tokens;
+    }
+
+    /**
+     * How {@code DataBinding} resolved its tokens before they were classified.
+     */
+    private static Result legacy(String[] tokens, Value data, int index) {
+        Value element = data;
+        for (String segment : tokens) {
+            if (element == null) {
+                return Result.NO_SUCH_DATA_PATH_EXCEPTION;
+            }
+            if (element.isNull()) {
+                return Result.NULL_EXCEPTION;
+            }
+            if (element.isArray()) {
+                Array array = element.getAsArray();
+                if (Binding.INDEX.equals(segment)) {
+                    element = index < array.size() ? array.get(index) : null;
+                } else if (Binding.ARRAY_DATA_LENGTH_REFERENCE.equals(segment)) {
+                    element = new Primitive(array.size());
+                } else if (Binding.ARRAY_DATA_LAST_INDEX_REFERENCE.equals(segment)) {
+                    element = array.size() > 0 ? array.get(array.size() - 1) : null;
+                } else {
+                    try {
+                        index = Integer.parseInt(segment);
+                    } catch (NumberFormatException e) {
+                        return Result.INVALID_DATA_PATH_EXCEPTION;
+                    }
+                    element = index < array.size() ? array.get(index) : null;
+                }
+            } else if (element.isObject()) {
+                element = element.getAsObject().get(segment);
+            } else {
+                return Result.INVALID_DATA_PATH_EXCEPTION;
+            }
+        }
+        return null != element ? Result.success(element) : Result.NO_SUCH_DATA_PATH_EXCEPTION;
+    }
+
     /*public static JsonObject data() {
         JsonObject object = new JsonObject();
 
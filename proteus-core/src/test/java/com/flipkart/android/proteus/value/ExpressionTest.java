@@ -19,6 +19,15 @@
 
 package com.flipkart.android.proteus.value;
 
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.util.regex.Matcher;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
 /**
  * ExpressionTest
  *
@@ -26,6 +35,105 @@ package com.flipkart.android.proteus.value;
  */
 public class ExpressionTest {
 
+    private static final String[] BINDINGS = {
+            "@{user.name}",
+            "@{items[0].offers.$length}",
+            "@{fn:format('%s off, %s left', @{offer.discount}, '2')}",
+            "@{fn:ternary(@{cart.empty}, @string/empty, 'Checkout')}",
+            "@{fn:number(@{product.price.value})}",
+            "@{fn:and(@{a.b}, @{fn:not(@{a.c})})}",
+    };
+
+    @Test
+    public void valueOf_path() throws Exception {
+        Expression expression = Expression.valueOf("@{a.b[0].c}");
+        assertThat(expression, instanceOf(Expression.Path.class));
+        assertThat(((Expression.Path) expression).path, is("a.b[0].c"));
+    }
+
+    @Test
+    public void valueOf_call() throws Exception {
+        Expression.Call call = (Expression.Call) Expression.valueOf("@{fn:format('%s, %s', @{a.b} , 10)}");
+        assertThat(call.name, is("format"));
+        assertThat(call.arguments.length, is(3));
+        assertThat(((Expression.Literal) call.arguments[0]).value, is("%s, %s"));
+        assertThat(((Expression.Path) call.arguments[1]).path, is("a.b"));
+        assertThat(((Expression.Token) call.arguments[2]).value, is("10"));
+    }
+
+    @Test
+    public void valueOf_nested() throws Exception {
+        Expression.Call call = (Expression.Call) Expression.valueOf("@{fn:ternary(@{fn:eq(@{a}, 'x,y')}, 'yes', @{fn:format('%s', @{b})})}");
+        assertThat(call.arguments.length, is(3));
+        Expression.Call eq = (Expression.Call) call.arguments[0];
+        assertThat(eq.name, is("eq"));
+        assertThat(((Expression.Literal) eq.arguments[1]).value, is("x,y"));
+        assertThat(((Expression.Call) call.arguments[2]).name, is("format"));
+        assertThat(call.toString(), is("@{fn:ternary(@{fn:eq(@{a}, 'x,y')}, 'yes', @{fn:format('%s', @{b})})}"));
+    }
+
+    @Test
+    public void valueOf_noArguments() throws Exception {
+        Expression.Call call = (Expression.Call) Expression.valueOf("@{fn:noop( )}");
+        assertThat(call.arguments.length, is(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void valueOf_unterminatedQuote() throws Exception {
+        Expression.valueOf("@{fn:format('%s)}");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void valueOf_unterminatedCall() throws Exception {
+        Expression.valueOf("@{fn:format('%s', @{a}}");
+    }
+
+    @Ignore("benchmark, run manually")
+    @Test
+    public void benchmark_compile() throws Exception {
+        int iterations = 20000;
+
+        // warm up
+        for (int i = 0; i < iterations; i++) {
+            regex(BINDINGS[i % BINDINGS.length]);
+            Expression.valueOf(BINDINGS[i % BINDINGS.length]);
+        }
+
+        long time = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            regex(BINDINGS[i % BINDINGS.length]);
+        }
+        long regex = System.nanoTime() - time;
+
+        time = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            Expression.valueOf(BINDINGS[i % BINDINGS.length]);
+        }
+        long parser = System.nanoTime() - time;
+
+        System.out.println("Binding parse of " + iterations + " strings: regex " + (regex / 1000000) + " ms, "
+                + "parser " + (parser / 1000000) + " ms");
+    }
+
+    /**
+     * The work the regex based {@code Binding.valueOf} did before building the binding.
+     */
+    @SuppressWarnings("deprecation")
+    private static int regex(String value) {
+        Matcher matcher = Binding.BINDING_PATTERN.matcher(value);
+        if (matcher.find()) {
+            if (matcher.group(3) != null) {
+                return matcher.group(3).length();
+            }
+            String[] tokens = Binding.FUNCTION_ARGS_DELIMITER.split(matcher.group(2));
+            for (String token : tokens) {
+                token.trim();
+            }
+            return tokens.length;
+        }
+        return -1;
+    }
+
     /*public static JsonObject data() {
         JsonObject object = new JsonObject();
 
@@ -0,0 +1,51 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus.value;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * LayoutTest
+ */
+public class LayoutTest {
+
+    @Test
+    public void merge_doesNotChangeTheMergedLayouts() {
+        Map<String, Value> data = new HashMap<>();
+        data.put("a", new Primitive(1));
+        Layout layout = new Layout("View", null, data, null);
+
+        Map<String, Value> includeData = new HashMap<>();
+        includeData.put("b", new Primitive(2));
+        Layout include = new Layout("include", null, includeData, null);
+
+        Layout merged = layout.merge(include);
+
+        assertThat(merged.data.size(), is(2));
+        assertThat(layout.data.size(), is(1));
+        assertThat(include.data.size(), is(1));
+    }
+}
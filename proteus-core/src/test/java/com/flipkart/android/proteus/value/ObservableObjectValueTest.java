@@ -0,0 +1,126 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus.value;
+
+import android.support.annotation.NonNull;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * ObservableObjectValueTest
+ */
+public class ObservableObjectValueTest {
+
+    @Test
+    public void subscribe() throws Exception {
+        ObservableObjectValue data = new ObservableObjectValue();
+        ObservableObjectValue user = new ObservableObjectValue();
+        data.add("user", user);
+
+        RecordingListener name = new RecordingListener();
+        RecordingListener count = new RecordingListener();
+        RecordingListener all = new RecordingListener();
+        data.subscribe("user.name", name);
+        data.subscribe("count", count);
+        data.subscribe("", all);
+
+        user.addProperty("name", "a");
+        data.addProperty("count", 1);
+        data.add("user", new ObservableObjectValue());
+        user.addProperty("name", "b");
+
+        assertThat(name.paths, is(Arrays.asList("user.name", "user")));
+        assertThat(count.paths, is(Arrays.asList("count")));
+        assertThat(all.paths, is(Arrays.asList("user.name", "count", "user")));
+
+        data.unsubscribe("count", count);
+        data.remove("count");
+        assertThat(count.paths.size(), is(1));
+    }
+
+    @Test
+    public void array() throws Exception {
+        ObservableObjectValue data = new ObservableObjectValue();
+        ObservableArray items = new ObservableArray();
+        ObservableObjectValue item = new ObservableObjectValue();
+        data.add("items", items);
+
+        RecordingListener listener = new RecordingListener();
+        data.subscribe("items", listener);
+
+        items.add(new Primitive(0));
+        items.add(item);
+        item.addProperty("price", 10);
+        items.set(0, new Primitive(1));
+        items.remove(1);
+        item.addProperty("price", 20);
+
+        assertThat(listener.paths, is(Arrays.asList("items", "items", "items.1.price", "items.0", "items")));
+    }
+
+    @Test
+    public void entrySet() throws Exception {
+        ObservableObjectValue data = new ObservableObjectValue();
+        ObservableObjectValue user = new ObservableObjectValue();
+        data.addProperty("count", 1);
+        data.add("user", new ObservableObjectValue());
+
+        RecordingListener listener = new RecordingListener();
+        data.addOnChangeListener(listener);
+
+        for (Map.Entry<String, Value> entry : data.entrySet()) {
+            if ("user".equals(entry.getKey())) {
+                entry.setValue(user);
+            }
+        }
+        user.addProperty("name", "a");
+
+        Iterator<Map.Entry<String, Value>> iterator = data.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if ("user".equals(iterator.next().getKey())) {
+                iterator.remove();
+            }
+        }
+        user.addProperty("name", "b");
+
+        assertThat(listener.paths, is(Arrays.asList("user", "user.name", "user")));
+        assertThat(data.has("user"), is(false));
+        assertThat(data.getAsInteger("count"), is(1));
+    }
+
+    private static class RecordingListener implements Observable.OnChangeListener {
+
+        final List<String> paths = new ArrayList<>();
+
+        @Override
+        public void onChange(@NonNull Observable source, @NonNull String path) {
+            paths.add(path);
+        }
+    }
+}
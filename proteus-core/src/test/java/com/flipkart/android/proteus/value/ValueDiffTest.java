@@ -0,0 +1,114 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus.value;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * ValueDiffTest
+ */
+public class ValueDiffTest {
+
+    private static ObjectValue createData(String name, int count, String... tags) {
+        ObjectValue user = new ObjectValue();
+        user.addProperty("name", name);
+        Array array = new Array();
+        for (String tag : tags) {
+            array.add(tag);
+        }
+        ObjectValue data = new ObjectValue();
+        data.add("user", user);
+        data.addProperty("count", count);
+        data.add("tags", array);
+        return data;
+    }
+
+    private static Collection<String> getPaths(List<ValueDiff.Change> changes) {
+        Collection<String> paths = new HashSet<>();
+        for (ValueDiff.Change change : changes) {
+            paths.add(change.path);
+        }
+        return paths;
+    }
+
+    @Test
+    public void diff_same() throws Exception {
+        ObjectValue data = createData("a", 1, "x");
+        assertThat(ValueDiff.diff(data, data).isEmpty(), is(true));
+        assertThat(ValueDiff.diff(data, createData("a", 1, "x")).isEmpty(), is(true));
+    }
+
+    @Test
+    public void diff_changed() throws Exception {
+        ObjectValue before = createData("a", 1, "x", "y");
+        ObjectValue after = createData("b", 1, "x", "z");
+        after.remove("count");
+        after.addProperty("extra", true);
+
+        assertThat(getPaths(ValueDiff.diff(before, after)),
+                is((Collection<String>) new HashSet<>(Arrays.asList("user.name", "tags.1", "count", "extra"))));
+
+        after.getAsArray("tags").add("w");
+        assertThat(getPaths(ValueDiff.diff(before, after)),
+                is((Collection<String>) new HashSet<>(Arrays.asList("user.name", "tags", "count", "extra"))));
+    }
+
+    @Test
+    public void apply() throws Exception {
+        ObjectValue before = createData("a", 1, "x", "y");
+        ObjectValue after = createData("b", 2, "x", "z", "w");
+        after.add("address", new ObjectValue());
+        after.getAsObject("address").addProperty("city", "c");
+
+        List<ValueDiff.Change> patch = ValueDiff.diff(before, after);
+        ObjectValue target = createData("a", 1, "x", "y");
+        ValueDiff.apply(target, patch);
+        assertThat(target, is(after));
+
+        List<ValueDiff.Change> delta = new ArrayList<>();
+        delta.add(new ValueDiff.Change("user.name", new Primitive("c")));
+        delta.add(new ValueDiff.Change("tags.3", new Primitive("v")));
+        delta.add(new ValueDiff.Change("count", null));
+        delta.add(new ValueDiff.Change("meta.source", new Primitive("server")));
+
+        Collection<String> paths = ValueDiff.apply(target, delta);
+        assertThat(paths.size(), is(4));
+        assertThat(target.getAsObject("user").getAsString("name"), is("c"));
+        assertThat(target.getAsArray("tags").size(), is(4));
+        assertThat(target.has("count"), is(false));
+        assertThat(target.getAsObject("meta").getAsString("source"), is("server"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void apply_invalid() throws Exception {
+        List<ValueDiff.Change> delta = new ArrayList<>();
+        delta.add(new ValueDiff.Change("count.value", new Primitive(1)));
+        ValueDiff.apply(createData("a", 1), delta);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus.support.v7.widget;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.v7.widget.RecyclerView;
+import android.util.SparseBooleanArray;
+
+import com.flipkart.android.proteus.ProteusContext;
+import com.flipkart.android.proteus.ProteusContextWrapper;
+import com.flipkart.android.proteus.value.Layout;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * ProteusRecycledViewPool
+ * <p>
+ * A {@link RecyclerView.RecycledViewPool} which can be shared by several
+ * {@link ProteusRecyclerView}s, so that rows of the same {@link Layout} recycled by one list,
+ * like a carousel scrolled out of a feed, are reused by another instead of being inflated
+ * again. This works because every {@link Layout} gets a view type which is the same in all
+ * the adapters using the pool, see {@link #getViewType(Layout)}.
+ * </p>
+ * <p>
+ * All the {@link ProteusRecyclerView}s inflated with the same {@link ProteusContext} share
+ * one pool, which is kept on the context by {@link #of(Context)}. Rows hold on to the context
+ * they were inflated with, so the pool lives exactly as long as that context; a
+ * {@link ProteusContextWrapper} created for a screen gets a pool of its own. A context can
+ * also hand out a pool of its choice by implementing {@link Provider}.
+ * </p>
+ */
+public class ProteusRecycledViewPool extends RecyclerView.RecycledViewPool {
+
+    public static final int DEFAULT_MAX_RECYCLED_VIEWS = 5;
+
+    private final Map<Layout, Integer> viewTypes = new WeakHashMap<>();
+
+    private final SparseBooleanArray registered = new SparseBooleanArray();
+
+    private int next;
+
+    private int defaultMaxRecycledViews = DEFAULT_MAX_RECYCLED_VIEWS;
+
+    /**
+     * @param context the context of a list.
+     * @return the pool provided by {@code context}, the pool of {@code context} if it is a
+     * {@link ProteusContext}, or a new pool otherwise.
+     */
+    @NonNull
+    public static ProteusRecycledViewPool of(@NonNull Context context) {
+        if (context instanceof Provider) {
+            return ((Provider) context).getRecycledViewPool();
+        }
+        if (context instanceof ProteusContext) {
+            ProteusContext proteusContext = (ProteusContext) context;
+            synchronized (proteusContext) {
+                ProteusRecycledViewPool pool = (ProteusRecycledViewPool) proteusContext.getExtra(ProteusRecycledViewPool.class);
+                if (null == pool) {
+                    pool = new ProteusRecycledViewPool();
+                    proteusContext.putExtra(ProteusRecycledViewPool.class, pool);
+                }
+                return pool;
+            }
+        }
+        return new ProteusRecycledViewPool();
+    }
+
+    /**
+     * @param layout a row layout.
+     * @return the view type of rows inflated from {@code layout}, the same for all the
+     * adapters using this pool.
+     */
+    public synchronized int getViewType(@NonNull Layout layout) {
+        Integer viewType = viewTypes.get(layout);
+        if (null == viewType) {
+            viewType = next++;
+            viewTypes.put(layout, viewType);
+        }
+        return viewType;
+    }
+
+    /**
+     * Sets the number of rows kept for the view types which have no capacity of their own.
+     *
+     * @param max the maximum number of rows kept per view type.
+     */
+    public void setDefaultMaxRecycledViews(int max) {
+        this.defaultMaxRecycledViews = max;
+    }
+
+    /**
+     * @param layout the layout of the rows.
+     * @param max    the maximum number of rows of {@code layout} to keep.
+     */
+    public void setMaxRecycledViews(@NonNull Layout layout, int max) {
+        setMaxRecycledViews(getViewType(layout), max);
+    }
+
+    @Override
+    public void setMaxRecycledViews(int viewType, int max) {
+        registered.put(viewType, true);
+        super.setMaxRecycledViews(viewType, max);
+    }
+
+    /**
+     * Applies the default capacity to {@code viewType} if it was not configured.
+     *
+     * @param viewType a view type returned by {@link #getViewType(Layout)}.
+     */
+    void register(int viewType) {
+        if (!registered.get(viewType)) {
+            registered.put(viewType, true);
+            super.setMaxRecycledViews(viewType, defaultMaxRecycledViews);
+        }
+    }
+
+    /**
+     * Implemented by a {@link ProteusContext} whose lists share a pool.
+     */
+    public interface Provider {
+
+        /**
+         * @return the pool of the lists inflated with this context.
+         */
+        @NonNull
+        ProteusRecycledViewPool getRecycledViewPool();
+    }
+}
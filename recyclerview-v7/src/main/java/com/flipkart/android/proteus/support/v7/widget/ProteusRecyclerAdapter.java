@@ -0,0 +1,213 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus.support.v7.widget;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v7.widget.RecyclerView;
+import android.util.SparseArray;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.ProteusConstants;
+import com.flipkart.android.proteus.ProteusContext;
+import com.flipkart.android.proteus.ProteusView;
+import com.flipkart.android.proteus.exceptions.ProteusInflateException;
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Value;
+
+/**
+ * ProteusRecyclerAdapter
+ * <p>
+ * Binds the elements of a data bound collection to rows inflated from a {@link Layout}.
+ * A row is inflated once per view type and then rebound to each position it is recycled
+ * for through {@link ProteusView.Manager#update(ObjectValue)}, with the position as the
+ * data index.
+ * </p>
+ * <p>
+ * The view type of a position is the {@link #LAYOUTS} entry named by its {@link #TYPE},
+ * or the {@link ProteusConstants#LAYOUT} if there is no such entry. {@link #TYPE} is either
+ * a binding, evaluated for each position, or the name of a property of the element. View
+ * types are assigned per {@link Layout} by the {@link ProteusRecycledViewPool} of the list,
+ * so rows can be shared with other adapters using the same pool.
+ * </p>
+ */
+public class ProteusRecyclerAdapter extends RecyclerView.Adapter<ProteusRecyclerAdapter.ViewHolder> {
+
+    public static final String LAYOUTS = "layouts";
+    public static final String TYPE = ProteusConstants.TYPE;
+
+    @NonNull
+    private final ProteusContext context;
+
+    @NonNull
+    private final ObjectValue config;
+
+    @NonNull
+    private final Binding collection;
+
+    @Nullable
+    private final Layout layout;
+
+    @Nullable
+    private final ObjectValue layouts;
+
+    @Nullable
+    private final Value type;
+
+    private final SparseArray<Layout> types = new SparseArray<>();
+
+    /**
+     * The pool of the list, or a pool of its own which only assigns the view types when the
+     * list does not use a {@link ProteusRecycledViewPool}.
+     */
+    @NonNull
+    private ProteusRecycledViewPool pool = new ProteusRecycledViewPool();
+
+    @NonNull
+    private ObjectValue data = new ObjectValue();
+
+    @Nullable
+    private Array dataset;
+
+    public ProteusRecyclerAdapter(@NonNull ProteusContext context, @NonNull ObjectValue config) {
+        this.context = context;
+        this.config = config;
+
+        Value collection = config.get(ProteusConstants.COLLECTION);
+        if (null == collection || !collection.isBinding()) {
+            throw new ProteusInflateException("'collection' is mandatory for attribute:'adapter' and must be a binding");
+        }
+        this.collection = collection.getAsBinding();
+        this.layout = config.isLayout(ProteusConstants.LAYOUT) ? config.getAsLayout(ProteusConstants.LAYOUT) : null;
+        this.layouts = config.isObject(LAYOUTS) ? config.getAsObject(LAYOUTS) : null;
+        this.type = config.get(TYPE);
+
+        if (null == layout && null == layouts) {
+            throw new ProteusInflateException("'layout' or 'layouts' is mandatory for attribute:'adapter'");
+        }
+    }
+
+    /**
+     * @return the config this adapter was created from.
+     */
+    @NonNull
+    public ObjectValue getConfig() {
+        return config;
+    }
+
+    /**
+     * Evaluates the collection again against {@code data} and rebinds the rows.
+     *
+     * @param data  the data of the {@link RecyclerView}.
+     * @param index the data index of the {@link RecyclerView}.
+     */
+    public void update(@NonNull ObjectValue data, int index) {
+        this.data = data;
+        Value dataset = collection.evaluate(context, data, index);
+        if (dataset.isNull()) {
+            this.dataset = null;
+        } else if (dataset.isArray()) {
+            this.dataset = dataset.getAsArray();
+        } else {
+            throw new ProteusInflateException("'collection' in attribute:'adapter' must be NULL or Array");
+        }
+        notifyDataSetChanged();
+    }
+
+    @Override
+    public int getItemCount() {
+        return null != dataset ? dataset.size() : 0;
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        Layout layout = getLayout(position);
+        int viewType = pool.getViewType(layout);
+        if (null == types.get(viewType)) {
+            types.put(viewType, layout);
+            pool.register(viewType);
+        }
+        return viewType;
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(RecyclerView recyclerView) {
+        if (recyclerView.getRecycledViewPool() instanceof ProteusRecycledViewPool
+                && recyclerView.getRecycledViewPool() != pool) {
+            // view types are numbered by the pool
+            pool = (ProteusRecycledViewPool) recyclerView.getRecycledViewPool();
+            types.clear();
+        }
+    }
+
+    @Override
+    public ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+        ProteusView view = context.getInflater().inflate(types.get(viewType), data, parent, -1);
+        return new ViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(ViewHolder holder, int position) {
+        ProteusView.Manager manager = holder.view.getViewManager();
+        manager.getDataContext().setIndex(position);
+        manager.update(data);
+    }
+
+    @NonNull
+    private Layout getLayout(int position) {
+        Layout layout = null;
+        if (null != layouts && null != type && null != dataset) {
+            Value name;
+            if (type.isBinding()) {
+                name = type.getAsBinding().evaluate(context, data, position);
+            } else {
+                Value element = dataset.get(position);
+                name = element.isObject() ? element.getAsObject().get(type.getAsString()) : null;
+            }
+            if (null != name && name.isPrimitive() && layouts.isLayout(name.getAsString())) {
+                layout = layouts.getAsLayout(name.getAsString());
+            }
+        }
+        if (null == layout) {
+            layout = this.layout;
+        }
+        if (null == layout) {
+            throw new ProteusInflateException("no layout for the element at position " + position + " in attribute:'adapter'");
+        }
+        return layout;
+    }
+
+    /**
+     * ViewHolder
+     */
+    public static class ViewHolder extends RecyclerView.ViewHolder {
+
+        @NonNull
+        public final ProteusView view;
+
+        public ViewHolder(@NonNull ProteusView view) {
+            super(view.getAsView());
+            this.view = view;
+        }
+    }
+}
@@ -37,6 +37,7 @@ public class ProteusRecyclerView extends RecyclerView implements ProteusView {
 
     public ProteusRecyclerView(ProteusContext context) {
         super(context);
+        setRecycledViewPool(ProteusRecycledViewPool.of(context));
     }
 
     @Override
@@ -21,14 +21,32 @@ package com.flipkart.android.proteus.support.v7.widget;
 
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.support.v7.widget.GridLayoutManager;
+import android.support.v7.widget.LinearLayoutManager;
 import android.support.v7.widget.RecyclerView;
+import android.support.v7.widget.StaggeredGridLayoutManager;
+import android.view.View;
 import android.view.ViewGroup;
 
+import com.flipkart.android.proteus.BoundAttribute;
+import com.flipkart.android.proteus.DataContext;
+import com.flipkart.android.proteus.ProteusConstants;
 import com.flipkart.android.proteus.ProteusContext;
 import com.flipkart.android.proteus.ProteusView;
+import com.flipkart.android.proteus.ViewGroupManager;
 import com.flipkart.android.proteus.ViewTypeParser;
+import com.flipkart.android.proteus.parser.ParseHelper;
+import com.flipkart.android.proteus.processor.AttributeProcessor;
+import com.flipkart.android.proteus.value.AttributeResource;
+import com.flipkart.android.proteus.value.Binding;
 import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.NestedBinding;
 import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Resource;
+import com.flipkart.android.proteus.value.StyleResource;
+import com.flipkart.android.proteus.value.Value;
+
+import java.util.Collection;
 
 /**
  * RecyclerViewParser
@@ -36,7 +54,19 @@ import com.flipkart.android.proteus.value.ObjectValue;
  * @author adityasharat
  */
 
-public class RecyclerViewParser<T extends RecyclerView> extends ViewTypeParser {
+public class RecyclerViewParser<T extends RecyclerView> extends ViewTypeParser<T> {
+
+    public static final String ATTRIBUTE_ADAPTER = "adapter";
+    public static final String ATTRIBUTE_LAYOUT_MANAGER = "layoutManager";
+
+    public static final String LAYOUT_MANAGER_LINEAR = "linear";
+    public static final String LAYOUT_MANAGER_GRID = "grid";
+    public static final String LAYOUT_MANAGER_STAGGERED = "staggered";
+
+    private static final String ORIENTATION = "orientation";
+    private static final String ORIENTATION_HORIZONTAL = "horizontal";
+    private static final String SPAN_COUNT = "spanCount";
+    private static final String REVERSE_LAYOUT = "reverseLayout";
 
     @NonNull
     @Override
@@ -56,8 +86,223 @@ public class RecyclerViewParser<T extends RecyclerView> extends ViewTypeParser {
         return new ProteusRecyclerView(context);
     }
 
+    @NonNull
+    @Override
+    public ProteusView.Manager createViewManager(@NonNull ProteusContext context, @NonNull ProteusView view, @NonNull Layout layout,
+                                                 @NonNull ObjectValue data, @Nullable ViewTypeParser caller, @Nullable ViewGroup parent,
+                                                 int dataIndex) {
+        DataContext dataContext = createDataContext(context, layout, data, parent, dataIndex);
+        return new RecyclerViewManager(context, null != caller ? caller : this, view.getAsView(), layout, dataContext);
+    }
+
     @Override
     protected void addAttributeProcessors() {
 
+        addAttributeProcessor(ATTRIBUTE_ADAPTER, new AttributeProcessor<T>() {
+            @Override
+            public void handleBinding(T view, Binding value) {
+                if (value instanceof NestedBinding) {
+                    setAdapter(view, ((NestedBinding) value).getValue());
+                } else {
+                    throw new IllegalArgumentException("adapter must be an object or a nested binding");
+                }
+            }
+
+            @Override
+            public void handleValue(T view, Value value) {
+                setAdapter(view, value);
+            }
+
+            @Override
+            public void handleResource(T view, Resource resource) {
+                throw new IllegalArgumentException("adapter cannot be a resource");
+            }
+
+            @Override
+            public void handleAttributeResource(T view, AttributeResource attribute) {
+                throw new IllegalArgumentException("adapter cannot be a resource");
+            }
+
+            @Override
+            public void handleStyleResource(T view, StyleResource style) {
+                throw new IllegalArgumentException("adapter cannot be a style attribute");
+            }
+        });
+
+        addAttributeProcessor(ATTRIBUTE_LAYOUT_MANAGER, new AttributeProcessor<T>() {
+            @Override
+            public void handleValue(T view, Value value) {
+                view.setLayoutManager(createLayoutManager(view, value));
+            }
+
+            @Override
+            public void handleResource(T view, Resource resource) {
+                throw new IllegalArgumentException("layoutManager cannot be a resource");
+            }
+
+            @Override
+            public void handleAttributeResource(T view, AttributeResource attribute) {
+                throw new IllegalArgumentException("layoutManager cannot be a resource");
+            }
+
+            @Override
+            public void handleStyleResource(T view, StyleResource style) {
+                throw new IllegalArgumentException("layoutManager cannot be a style attribute");
+            }
+        });
+    }
+
+    /**
+     * Sets a {@link ProteusRecyclerAdapter} created from {@code config} on the view, or
+     * rebinds the current one if it was created from the same config. A config which is a
+     * {@link NestedBinding} is applied again on every update of the view; a plain object
+     * config is rebound by the {@link RecyclerViewManager}.
+     */
+    protected void setAdapter(T view, Value config) {
+        if (!config.isObject()) {
+            throw new IllegalArgumentException("adapter must be an object");
+        }
+
+        ProteusView.Manager manager = ((ProteusView) view).getViewManager();
+        DataContext dataContext = manager.getDataContext();
+        if (manager instanceof ViewGroupManager) {
+            // rows are bound by the adapter, not by the view group
+            ((ViewGroupManager) manager).hasDataBoundChildren = true;
+        }
+
+        ProteusRecyclerAdapter adapter;
+        if (view.getAdapter() instanceof ProteusRecyclerAdapter
+                && ((ProteusRecyclerAdapter) view.getAdapter()).getConfig() == config) {
+            adapter = (ProteusRecyclerAdapter) view.getAdapter();
+        } else {
+            adapter = new ProteusRecyclerAdapter(manager.getContext(), config.getAsObject());
+            if (null == view.getLayoutManager()) {
+                LinearLayoutManager layoutManager = new LinearLayoutManager(view.getContext());
+                layoutManager.setRecycleChildrenOnDetach(true);
+                view.setLayoutManager(layoutManager);
+            }
+            view.setAdapter(adapter);
+        }
+        adapter.update(dataContext.getData(), dataContext.getIndex());
+    }
+
+    /**
+     * Creates a layout manager from either a type, one of {@link #LAYOUT_MANAGER_LINEAR},
+     * {@link #LAYOUT_MANAGER_GRID} or {@link #LAYOUT_MANAGER_STAGGERED}, or an object with
+     * a {@code type}, an {@code orientation}, a {@code spanCount} and {@code reverseLayout}.
+     */
+    @NonNull
+    protected RecyclerView.LayoutManager createLayoutManager(T view, Value value) {
+        String type;
+        int orientation = RecyclerView.VERTICAL;
+        int spanCount = 1;
+        boolean reverse = false;
+
+        if (value.isObject()) {
+            ObjectValue object = value.getAsObject();
+            type = object.getAsString(ProteusConstants.TYPE);
+            if (ORIENTATION_HORIZONTAL.equals(object.getAsString(ORIENTATION))) {
+                orientation = RecyclerView.HORIZONTAL;
+            }
+            if (object.isPrimitive(SPAN_COUNT)) {
+                spanCount = ParseHelper.parseInt(object.getAsString(SPAN_COUNT));
+            }
+            reverse = ParseHelper.parseBoolean(object.get(REVERSE_LAYOUT));
+        } else {
+            type = value.getAsString();
+        }
+
+        if (LAYOUT_MANAGER_STAGGERED.equals(type)) {
+            StaggeredGridLayoutManager manager = new StaggeredGridLayoutManager(Math.max(1, spanCount), orientation);
+            manager.setReverseLayout(reverse);
+            return manager;
+        }
+
+        LinearLayoutManager manager;
+        if (LAYOUT_MANAGER_GRID.equals(type)) {
+            manager = new GridLayoutManager(view.getContext(), Math.max(1, spanCount), orientation, reverse);
+        } else if (null == type || LAYOUT_MANAGER_LINEAR.equals(type)) {
+            manager = new LinearLayoutManager(view.getContext(), orientation, reverse);
+        } else {
+            throw new IllegalArgumentException("unknown layoutManager: " + type);
+        }
+        // give the rows back to the shared pool when a nested list is detached
+        manager.setRecycleChildrenOnDetach(true);
+        return manager;
+    }
+
+    /**
+     * Rebinds the adapter on every update of the view when its config is a plain object,
+     * since only bound attributes are applied again on update. Rows are not kept in the
+     * view index.
+     */
+    static class RecyclerViewManager extends ViewGroupManager {
+
+        RecyclerViewManager(@NonNull ProteusContext context, @NonNull ViewTypeParser parser, @NonNull View view,
+                            @NonNull Layout layout, @NonNull DataContext dataContext) {
+            super(context, parser, view, layout, dataContext);
+        }
+
+        @Override
+        public void update(@Nullable ObjectValue data) {
+            super.update(data);
+            updateAdapter();
+        }
+
+        @Override
+        protected void onUpdate(@NonNull Collection<String> changedPaths) {
+            super.onUpdate(changedPaths);
+            updateAdapter();
+        }
+
+        @Override
+        protected void onPlanApplied() {
+            super.onPlanApplied();
+            updateAdapter();
+        }
+
+        /**
+         * The rows are added by the layout manager, so they are looked up in the list.
+         */
+        @Override
+        protected boolean isIndexingChildren() {
+            return false;
+        }
+
+        @Nullable
+        @Override
+        protected Collection<String> collectDependencies() {
+            Collection<String> paths = super.collectDependencies();
+            ProteusRecyclerAdapter adapter = getUnboundAdapter();
+            if (null != paths && null != adapter
+                    && !adapter.getConfig().getAsBinding(ProteusConstants.COLLECTION).collectPaths(paths)) {
+                return null;
+            }
+            return paths;
+        }
+
+        private void updateAdapter() {
+            ProteusRecyclerAdapter adapter = getUnboundAdapter();
+            if (null != adapter) {
+                adapter.update(dataContext.getData(), dataContext.getIndex());
+            }
+        }
+
+        /**
+         * @return the adapter of the view if it was created from a plain object config.
+         */
+        @Nullable
+        private ProteusRecyclerAdapter getUnboundAdapter() {
+            if (null != boundAttributes) {
+                int id = parser.getAttributeId(ATTRIBUTE_ADAPTER);
+                for (BoundAttribute boundAttribute : boundAttributes) {
+                    if (boundAttribute.attributeId == id) {
+                        return null;
+                    }
+                }
+            }
+            RecyclerView.Adapter adapter = ((RecyclerView) view).getAdapter();
+            return adapter instanceof ProteusRecyclerAdapter ? (ProteusRecyclerAdapter) adapter : null;
+        }
     }
 }
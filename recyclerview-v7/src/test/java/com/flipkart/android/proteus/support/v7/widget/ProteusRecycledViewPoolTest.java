@@ -0,0 +1,118 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus.support.v7.widget;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+
+import com.flipkart.android.proteus.ProteusBuilder;
+import com.flipkart.android.proteus.ProteusContext;
+import com.flipkart.android.proteus.ProteusContextWrapper;
+import com.flipkart.android.proteus.value.Layout;
+
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ProteusRecycledViewPoolTest
+ */
+public class ProteusRecycledViewPoolTest {
+
+    private static class ScreenContext extends ContextWrapper implements ProteusRecycledViewPool.Provider {
+
+        private final ProteusRecycledViewPool pool = new ProteusRecycledViewPool();
+
+        ScreenContext() {
+            super(null);
+        }
+
+        @Override
+        public ProteusRecycledViewPool getRecycledViewPool() {
+            return pool;
+        }
+    }
+
+    @Test
+    public void of() throws Exception {
+        ScreenContext context = new ScreenContext();
+        assertThat(ProteusRecycledViewPool.of(context), sameInstance(context.getRecycledViewPool()));
+        assertThat(ProteusRecycledViewPool.of(context), sameInstance(ProteusRecycledViewPool.of(context)));
+
+        ContextWrapper plain = new ContextWrapper(null);
+        assertThat(ProteusRecycledViewPool.of(plain), not(sameInstance(ProteusRecycledViewPool.of(plain))));
+    }
+
+    @Test
+    public void of_proteusContext() throws Exception {
+        Context base = mock(Context.class);
+        when(base.getApplicationContext()).thenReturn(mock(Context.class));
+        ProteusContext context = new ProteusBuilder().build().createContext(base);
+        assertThat(ProteusRecycledViewPool.of(context), sameInstance(ProteusRecycledViewPool.of(context)));
+
+        ProteusContextWrapper wrapper = new ProteusContextWrapper(context);
+        assertThat(ProteusRecycledViewPool.of(wrapper), sameInstance(ProteusRecycledViewPool.of(wrapper)));
+        assertThat(ProteusRecycledViewPool.of(wrapper), not(sameInstance(ProteusRecycledViewPool.of(context))));
+    }
+
+    @Test
+    public void getViewType() throws Exception {
+        Layout a = new Layout("TextView", null, null, null);
+        Layout b = new Layout("TextView", null, null, null);
+
+        ProteusRecycledViewPool pool = new ProteusRecycledViewPool();
+        assertThat(pool.getViewType(a), is(pool.getViewType(a)));
+        assertThat(pool.getViewType(a), not(is(pool.getViewType(b))));
+
+        // numbered per pool
+        assertThat(new ProteusRecycledViewPool().getViewType(b), is(0));
+    }
+
+    @Test
+    public void doesNotOutliveItsContext() throws Exception {
+        Layout layout = new Layout("TextView", null, null, null);
+        ScreenContext context = new ScreenContext();
+        ProteusRecycledViewPool pool = ProteusRecycledViewPool.of(context);
+        pool.register(pool.getViewType(layout));
+
+        WeakReference<ScreenContext> contextReference = new WeakReference<>(context);
+        WeakReference<ProteusRecycledViewPool> poolReference = new WeakReference<>(pool);
+        //noinspection UnusedAssignment
+        context = null;
+        //noinspection UnusedAssignment
+        pool = null;
+
+        for (int i = 0; i < 20 && (null != contextReference.get() || null != poolReference.get()); i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertThat(contextReference.get(), nullValue());
+        assertThat(poolReference.get(), nullValue());
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus.support.v7.widget;
+
+import com.flipkart.android.proteus.ProteusConstants;
+import com.flipkart.android.proteus.ProteusContext;
+import com.flipkart.android.proteus.exceptions.ProteusInflateException;
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Primitive;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * ProteusRecyclerAdapterTest
+ */
+public class ProteusRecyclerAdapterTest {
+
+    private static ObjectValue data(String... types) {
+        Array items = new Array();
+        for (String type : types) {
+            ObjectValue item = new ObjectValue();
+            item.addProperty("kind", type);
+            items.add(item);
+        }
+        ObjectValue data = new ObjectValue();
+        data.add("items", items);
+        return data;
+    }
+
+    @Test
+    public void update() throws Exception {
+        ObjectValue config = new ObjectValue();
+        config.add(ProteusConstants.COLLECTION, Binding.DataBinding.valueOf("items"));
+        config.add(ProteusConstants.LAYOUT, new Layout("TextView", null, null, null));
+
+        ProteusRecyclerAdapter adapter = new ProteusRecyclerAdapter(mock(ProteusContext.class), config);
+        assertThat(adapter.getItemCount(), is(0));
+        adapter.update(data("a", "b", "c"), -1);
+        assertThat(adapter.getItemCount(), is(3));
+        adapter.update(new ObjectValue(), -1);
+        assertThat(adapter.getItemCount(), is(0));
+    }
+
+    @Test
+    public void getItemViewType() throws Exception {
+        ObjectValue layouts = new ObjectValue();
+        layouts.add("header", new Layout("TextView", null, null, null));
+        ObjectValue config = new ObjectValue();
+        config.add(ProteusConstants.COLLECTION, Binding.DataBinding.valueOf("items"));
+        config.add(ProteusConstants.LAYOUT, new Layout("TextView", null, null, null));
+        config.add(ProteusRecyclerAdapter.LAYOUTS, layouts);
+        config.add(ProteusRecyclerAdapter.TYPE, new Primitive("kind"));
+
+        ProteusRecyclerAdapter adapter = new ProteusRecyclerAdapter(mock(ProteusContext.class), config);
+        adapter.update(data("header", "row", "row"), -1);
+        assertThat(adapter.getItemViewType(1), is(adapter.getItemViewType(2)));
+        assertThat(adapter.getItemViewType(0), not(is(adapter.getItemViewType(1))));
+    }
+
+    @Test(expected = ProteusInflateException.class)
+    public void update_notAnArray() throws Exception {
+        ObjectValue config = new ObjectValue();
+        config.add(ProteusConstants.COLLECTION, Binding.DataBinding.valueOf("items"));
+        config.add(ProteusConstants.LAYOUT, new Layout("TextView", null, null, null));
+        ObjectValue data = new ObjectValue();
+        data.addProperty("items", "a");
+        new ProteusRecyclerAdapter(mock(ProteusContext.class), config).update(data, -1);
+    }
+
+    @Test(expected = ProteusInflateException.class)
+    public void config_withoutLayout() throws Exception {
+        ObjectValue config = new ObjectValue();
+        config.add(ProteusConstants.COLLECTION, Binding.DataBinding.valueOf("items"));
+        new ProteusRecyclerAdapter(mock(ProteusContext.class), config);
+    }
+}
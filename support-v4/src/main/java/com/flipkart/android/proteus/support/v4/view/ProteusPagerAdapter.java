@@ -0,0 +1,176 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus.support.v4.view;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v4.view.PagerAdapter;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.ProteusConstants;
+import com.flipkart.android.proteus.ProteusContext;
+import com.flipkart.android.proteus.ProteusView;
+import com.flipkart.android.proteus.ViewManager;
+import com.flipkart.android.proteus.exceptions.ProteusInflateException;
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Value;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * ProteusPagerAdapter
+ * <p>
+ * Binds the elements of a data bound collection to pages inflated from a {@link Layout}.
+ * Pages are inflated only when the pager instantiates them, so only the pages within the
+ * offscreen page limit exist at any time. Destroyed pages are kept in a small pool and
+ * rebound to the next position which is instantiated.
+ * </p>
+ */
+public class ProteusPagerAdapter extends PagerAdapter {
+
+    public static final int MAX_RECYCLED_PAGES = 2;
+
+    @NonNull
+    private final ProteusContext context;
+
+    @NonNull
+    private final ObjectValue config;
+
+    @NonNull
+    private final Binding collection;
+
+    @NonNull
+    private final Layout layout;
+
+    @NonNull
+    private final ArrayDeque<ProteusView> recycled = new ArrayDeque<>(MAX_RECYCLED_PAGES);
+
+    @NonNull
+    private final Map<ProteusView, Integer> pages = new IdentityHashMap<>();
+
+    @NonNull
+    private ObjectValue data = new ObjectValue();
+
+    @Nullable
+    private Array dataset;
+
+    public ProteusPagerAdapter(@NonNull ProteusContext context, @NonNull ObjectValue config) {
+        this.context = context;
+        this.config = config;
+
+        Value collection = config.get(ProteusConstants.COLLECTION);
+        if (null == collection || !collection.isBinding() || !config.isLayout(ProteusConstants.LAYOUT)) {
+            throw new ProteusInflateException("'collection' and 'layout' are mandatory for attribute:'adapter'");
+        }
+        this.collection = collection.getAsBinding();
+        this.layout = config.getAsLayout(ProteusConstants.LAYOUT);
+    }
+
+    /**
+     * @return the config this adapter was created from.
+     */
+    @NonNull
+    public ObjectValue getConfig() {
+        return config;
+    }
+
+    /**
+     * Evaluates the collection again against {@code data} and rebinds the existing pages.
+     *
+     * @param data  the data of the pager.
+     * @param index the data index of the pager.
+     */
+    public void update(@NonNull ObjectValue data, int index) {
+        this.data = data;
+        Value dataset = collection.evaluate(context, data, index);
+        if (dataset.isNull()) {
+            this.dataset = null;
+        } else if (dataset.isArray()) {
+            this.dataset = dataset.getAsArray();
+        } else {
+            throw new ProteusInflateException("'collection' in attribute:'adapter' must be NULL or Array");
+        }
+
+        int count = getCount();
+        for (Map.Entry<ProteusView, Integer> entry : pages.entrySet()) {
+            if (entry.getValue() < count) {
+                bind(entry.getKey(), entry.getValue());
+            }
+        }
+        notifyDataSetChanged();
+    }
+
+    @Override
+    public int getCount() {
+        return null != dataset ? dataset.size() : 0;
+    }
+
+    @Override
+    public Object instantiateItem(ViewGroup container, int position) {
+        ProteusView page = recycled.poll();
+        if (null == page) {
+            page = context.getInflater().inflate(layout, data, container, position);
+            if (page.getViewManager().getDataContext().getIndex() != position) {
+                bind(page, position);
+            }
+        } else {
+            bind(page, position);
+        }
+        pages.put(page, position);
+        container.addView(page.getAsView());
+        if (container instanceof ProteusView && ((ProteusView) container).getViewManager() instanceof ViewManager) {
+            ((ViewManager) ((ProteusView) container).getViewManager()).index(page.getAsView());
+        }
+        return page;
+    }
+
+    @Override
+    public void destroyItem(ViewGroup container, int position, Object object) {
+        ProteusView page = (ProteusView) object;
+        container.removeView(page.getAsView());
+        pages.remove(page);
+        if (recycled.size() < MAX_RECYCLED_PAGES) {
+            recycled.offer(page);
+        }
+    }
+
+    @Override
+    public boolean isViewFromObject(View view, Object object) {
+        return object instanceof ProteusView && ((ProteusView) object).getAsView() == view;
+    }
+
+    @Override
+    public int getItemPosition(Object object) {
+        Integer position = pages.get(object);
+        return null != position && position < getCount() ? POSITION_UNCHANGED : POSITION_NONE;
+    }
+
+    private void bind(ProteusView page, int position) {
+        ProteusView.Manager manager = page.getViewManager();
+        manager.getDataContext().setIndex(position);
+        manager.update(data);
+    }
+}
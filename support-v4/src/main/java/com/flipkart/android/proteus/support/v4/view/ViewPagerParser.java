@@ -21,14 +21,31 @@ package com.flipkart.android.proteus.support.v4.view;
 
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.support.v4.view.PagerAdapter;
 import android.support.v4.view.ViewPager;
+import android.view.View;
 import android.view.ViewGroup;
 
+import com.flipkart.android.proteus.BoundAttribute;
+import com.flipkart.android.proteus.DataContext;
+import com.flipkart.android.proteus.ProteusConstants;
 import com.flipkart.android.proteus.ProteusContext;
 import com.flipkart.android.proteus.ProteusView;
+import com.flipkart.android.proteus.ViewGroupManager;
 import com.flipkart.android.proteus.ViewTypeParser;
+import com.flipkart.android.proteus.parser.ParseHelper;
+import com.flipkart.android.proteus.processor.AttributeProcessor;
+import com.flipkart.android.proteus.processor.StringAttributeProcessor;
+import com.flipkart.android.proteus.value.AttributeResource;
+import com.flipkart.android.proteus.value.Binding;
 import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.NestedBinding;
 import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Resource;
+import com.flipkart.android.proteus.value.StyleResource;
+import com.flipkart.android.proteus.value.Value;
+
+import java.util.Collection;
 
 /**
  * ViewPagerParser
@@ -38,6 +55,9 @@ import com.flipkart.android.proteus.value.ObjectValue;
 
 public class ViewPagerParser<T extends ViewPager> extends ViewTypeParser<T> {
 
+    public static final String ATTRIBUTE_ADAPTER = "adapter";
+    public static final String ATTRIBUTE_OFFSCREEN_PAGE_LIMIT = "offscreenPageLimit";
+
     @NonNull
     @Override
     public String getType() {
@@ -56,8 +76,148 @@ public class ViewPagerParser<T extends ViewPager> extends ViewTypeParser<T> {
         return new ProteusViewPager(context);
     }
 
+    @NonNull
+    @Override
+    public ProteusView.Manager createViewManager(@NonNull ProteusContext context, @NonNull ProteusView view, @NonNull Layout layout,
+                                                 @NonNull ObjectValue data, @Nullable ViewTypeParser caller, @Nullable ViewGroup parent,
+                                                 int dataIndex) {
+        DataContext dataContext = createDataContext(context, layout, data, parent, dataIndex);
+        return new ViewPagerManager(context, null != caller ? caller : this, view.getAsView(), layout, dataContext);
+    }
+
     @Override
     protected void addAttributeProcessors() {
 
+        addAttributeProcessor(ATTRIBUTE_ADAPTER, new AttributeProcessor<T>() {
+            @Override
+            public void handleBinding(T view, Binding value) {
+                if (value instanceof NestedBinding) {
+                    setAdapter(view, ((NestedBinding) value).getValue());
+                } else {
+                    throw new IllegalArgumentException("adapter must be an object or a nested binding");
+                }
+            }
+
+            @Override
+            public void handleValue(T view, Value value) {
+                setAdapter(view, value);
+            }
+
+            @Override
+            public void handleResource(T view, Resource resource) {
+                throw new IllegalArgumentException("adapter cannot be a resource");
+            }
+
+            @Override
+            public void handleAttributeResource(T view, AttributeResource attribute) {
+                throw new IllegalArgumentException("adapter cannot be a resource");
+            }
+
+            @Override
+            public void handleStyleResource(T view, StyleResource style) {
+                throw new IllegalArgumentException("adapter cannot be a style attribute");
+            }
+        });
+
+        addAttributeProcessor(ATTRIBUTE_OFFSCREEN_PAGE_LIMIT, new StringAttributeProcessor<T>() {
+            @Override
+            public void setString(T view, String value) {
+                view.setOffscreenPageLimit(ParseHelper.parseInt(value));
+            }
+        });
+    }
+
+    /**
+     * Sets a {@link ProteusPagerAdapter} created from {@code config} on the view, or rebinds
+     * the current one if it was created from the same config. A config which is a
+     * {@link NestedBinding} is applied again on every update of the view; a plain object
+     * config is rebound by the {@link ViewPagerManager}.
+     */
+    protected void setAdapter(T view, Value config) {
+        if (!config.isObject()) {
+            throw new IllegalArgumentException("adapter must be an object");
+        }
+
+        ProteusView.Manager manager = ((ProteusView) view).getViewManager();
+        DataContext dataContext = manager.getDataContext();
+        if (manager instanceof ViewGroupManager) {
+            // pages are bound by the adapter, not by the view group
+            ((ViewGroupManager) manager).hasDataBoundChildren = true;
+        }
+
+        if (view.getAdapter() instanceof ProteusPagerAdapter
+                && ((ProteusPagerAdapter) view.getAdapter()).getConfig() == config) {
+            ((ProteusPagerAdapter) view.getAdapter()).update(dataContext.getData(), dataContext.getIndex());
+        } else {
+            ProteusPagerAdapter adapter = new ProteusPagerAdapter(manager.getContext(), config.getAsObject());
+            adapter.update(dataContext.getData(), dataContext.getIndex());
+            view.setAdapter(adapter);
+        }
+    }
+
+    /**
+     * Rebinds an adapter created from a plain object config when the view is updated, since
+     * the pages are not updated by the view group.
+     */
+    static class ViewPagerManager extends ViewGroupManager {
+
+        ViewPagerManager(@NonNull ProteusContext context, @NonNull ViewTypeParser parser, @NonNull View view,
+                         @NonNull Layout layout, @NonNull DataContext dataContext) {
+            super(context, parser, view, layout, dataContext);
+        }
+
+        @Override
+        public void update(@Nullable ObjectValue data) {
+            super.update(data);
+            updateAdapter();
+        }
+
+        @Override
+        protected void onUpdate(@NonNull Collection<String> changedPaths) {
+            super.onUpdate(changedPaths);
+            updateAdapter();
+        }
+
+        @Override
+        protected void onPlanApplied() {
+            super.onPlanApplied();
+            updateAdapter();
+        }
+
+        @Nullable
+        @Override
+        protected Collection<String> collectDependencies() {
+            Collection<String> paths = super.collectDependencies();
+            ProteusPagerAdapter adapter = getUnboundAdapter();
+            if (null != paths && null != adapter
+                    && !adapter.getConfig().getAsBinding(ProteusConstants.COLLECTION).collectPaths(paths)) {
+                return null;
+            }
+            return paths;
+        }
+
+        private void updateAdapter() {
+            ProteusPagerAdapter adapter = getUnboundAdapter();
+            if (null != adapter) {
+                adapter.update(dataContext.getData(), dataContext.getIndex());
+            }
+        }
+
+        /**
+         * @return the adapter of the view if it was created from a plain object config.
+         */
+        @Nullable
+        private ProteusPagerAdapter getUnboundAdapter() {
+            if (null != boundAttributes) {
+                int id = parser.getAttributeId(ATTRIBUTE_ADAPTER);
+                for (BoundAttribute boundAttribute : boundAttributes) {
+                    if (boundAttribute.attributeId == id) {
+                        return null;
+                    }
+                }
+            }
+            PagerAdapter adapter = ((ViewPager) view).getAdapter();
+            return adapter instanceof ProteusPagerAdapter ? (ProteusPagerAdapter) adapter : null;
+        }
     }
 }
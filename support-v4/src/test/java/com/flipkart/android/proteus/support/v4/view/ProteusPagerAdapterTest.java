@@ -0,0 +1,202 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus.support.v4.view;
+
+import android.support.v4.view.PagerAdapter;
+import android.support.v4.view.ViewPager;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.DataContext;
+import com.flipkart.android.proteus.ProteusConstants;
+import com.flipkart.android.proteus.ProteusContext;
+import com.flipkart.android.proteus.ProteusLayoutInflater;
+import com.flipkart.android.proteus.ProteusView;
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * ProteusPagerAdapterTest
+ */
+public class ProteusPagerAdapterTest {
+
+    private final Layout layout = new Layout("TextView", null, null, null);
+    private final ObjectValue config = new ObjectValue();
+    private final ProteusContext context = mock(ProteusContext.class);
+    private final ProteusLayoutInflater inflater = mock(ProteusLayoutInflater.class);
+    private final ViewGroup container = mock(ViewGroup.class);
+
+    private static ObjectValue data(int size) {
+        Array items = new Array();
+        for (int i = 0; i < size; i++) {
+            items.add("item" + i);
+        }
+        ObjectValue data = new ObjectValue();
+        data.add("items", items);
+        return data;
+    }
+
+    private static ProteusView page(int index) {
+        DataContext dataContext = new DataContext();
+        dataContext.setIndex(index);
+        ProteusView.Manager manager = mock(ProteusView.Manager.class);
+        when(manager.getDataContext()).thenReturn(dataContext);
+        ProteusView page = mock(ProteusView.class);
+        when(page.getViewManager()).thenReturn(manager);
+        when(page.getAsView()).thenReturn(mock(View.class));
+        return page;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        config.add(ProteusConstants.COLLECTION, Binding.DataBinding.valueOf("items"));
+        config.add(ProteusConstants.LAYOUT, layout);
+
+        when(context.getInflater()).thenReturn(inflater);
+        when(inflater.inflate(eq(layout), any(ObjectValue.class), eq(container), anyInt())).thenAnswer(new Answer<ProteusView>() {
+            @Override
+            public ProteusView answer(InvocationOnMock invocation) throws Throwable {
+                return page((Integer) invocation.getArguments()[3]);
+            }
+        });
+    }
+
+    @Test
+    public void instantiateItem() throws Exception {
+        ProteusPagerAdapter adapter = new ProteusPagerAdapter(context, config);
+        adapter.update(data(5), -1);
+        assertThat(adapter.getCount(), is(5));
+
+        ProteusView page = (ProteusView) adapter.instantiateItem(container, 3);
+        verify(inflater).inflate(eq(layout), any(ObjectValue.class), eq(container), eq(3));
+        verify(container).addView(page.getAsView());
+        assertThat(page.getViewManager().getDataContext().getIndex(), is(3));
+        assertThat(adapter.isViewFromObject(page.getAsView(), page), is(true));
+        assertThat(adapter.isViewFromObject(mock(View.class), page), is(false));
+        // inflated at its position, so not bound again
+        verify(page.getViewManager(), never()).update(any(ObjectValue.class));
+    }
+
+    @Test
+    public void destroyItem() throws Exception {
+        ProteusPagerAdapter adapter = new ProteusPagerAdapter(context, config);
+        ObjectValue data = data(5);
+        adapter.update(data, -1);
+
+        ProteusView page = (ProteusView) adapter.instantiateItem(container, 0);
+        adapter.destroyItem(container, 0, page);
+        verify(container).removeView(page.getAsView());
+
+        // a destroyed page is rebound to the next position instead of inflating a new one
+        assertThat((ProteusView) adapter.instantiateItem(container, 4), sameInstance(page));
+        verify(inflater, times(1)).inflate(eq(layout), any(ObjectValue.class), eq(container), anyInt());
+        assertThat(page.getViewManager().getDataContext().getIndex(), is(4));
+        verify(page.getViewManager()).update(data);
+    }
+
+    @Test
+    public void destroyItem_recycledLimit() throws Exception {
+        ProteusPagerAdapter adapter = new ProteusPagerAdapter(context, config);
+        adapter.update(data(5), -1);
+
+        int pages = ProteusPagerAdapter.MAX_RECYCLED_PAGES + 1;
+        Object[] items = new Object[pages];
+        for (int i = 0; i < pages; i++) {
+            items[i] = adapter.instantiateItem(container, i);
+        }
+        for (int i = 0; i < pages; i++) {
+            adapter.destroyItem(container, i, items[i]);
+        }
+        for (int i = 0; i < pages; i++) {
+            adapter.instantiateItem(container, i);
+        }
+        verify(inflater, times(pages + 1)).inflate(eq(layout), any(ObjectValue.class), eq(container), anyInt());
+    }
+
+    @Test
+    public void getItemPosition() throws Exception {
+        ProteusPagerAdapter adapter = new ProteusPagerAdapter(context, config);
+        adapter.update(data(5), -1);
+        Object first = adapter.instantiateItem(container, 0);
+        Object last = adapter.instantiateItem(container, 4);
+
+        adapter.update(data(2), -1);
+        assertThat(adapter.getItemPosition(first), is(PagerAdapter.POSITION_UNCHANGED));
+        assertThat(adapter.getItemPosition(last), is(PagerAdapter.POSITION_NONE));
+        // only the pages which are still in the collection are rebound
+        verify(((ProteusView) first).getViewManager()).update(any(ObjectValue.class));
+        verify(((ProteusView) last).getViewManager(), never()).update(any(ObjectValue.class));
+    }
+
+    @Test
+    public void setAdapter() throws Exception {
+        ViewPager view = mock(ViewPager.class, withSettings().extraInterfaces(ProteusView.class));
+        DataContext dataContext = new DataContext();
+        dataContext.setData(data(3));
+        ProteusView.Manager manager = mock(ProteusView.Manager.class);
+        when(manager.getContext()).thenReturn(context);
+        when(manager.getDataContext()).thenReturn(dataContext);
+        when(((ProteusView) view).getViewManager()).thenReturn(manager);
+
+        ViewPagerParser<ViewPager> parser = new ViewPagerParser<>();
+        parser.setAdapter(view, config);
+        ArgumentCaptor<PagerAdapter> captor = ArgumentCaptor.forClass(PagerAdapter.class);
+        verify(view).setAdapter(captor.capture());
+        ProteusPagerAdapter adapter = (ProteusPagerAdapter) captor.getValue();
+        assertThat(adapter.getCount(), is(3));
+
+        // the same config rebinds the adapter
+        when(view.getAdapter()).thenReturn(adapter);
+        dataContext.setData(data(4));
+        parser.setAdapter(view, config);
+        verify(view, times(1)).setAdapter(any(PagerAdapter.class));
+        assertThat(adapter.getCount(), is(4));
+
+        // another config replaces it
+        ObjectValue other = new ObjectValue();
+        other.add(ProteusConstants.COLLECTION, Binding.DataBinding.valueOf("items"));
+        other.add(ProteusConstants.LAYOUT, layout);
+        parser.setAdapter(view, other);
+        verify(view, times(2)).setAdapter(captor.capture());
+        assertThat(captor.getValue(), not(sameInstance((PagerAdapter) adapter)));
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2017 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus.support.v4.view;
+
+import android.support.v4.view.PagerAdapter;
+import android.support.v4.view.ViewPager;
+
+import com.flipkart.android.proteus.BindPlan;
+import com.flipkart.android.proteus.ProteusConstants;
+import com.flipkart.android.proteus.ProteusContext;
+import com.flipkart.android.proteus.ProteusView;
+import com.flipkart.android.proteus.ViewManager;
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.NestedBinding;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Value;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * ViewPagerParserTest
+ */
+public class ViewPagerParserTest {
+
+    private final ViewPagerParser<ViewPager> parser = new ViewPagerParser<>();
+    private final ObjectValue config = new ObjectValue();
+    private final ViewPager view = mock(ViewPager.class, withSettings().extraInterfaces(ProteusView.class));
+
+    private static ObjectValue data(int size) {
+        Array items = new Array();
+        for (int i = 0; i < size; i++) {
+            items.add("item" + i);
+        }
+        ObjectValue data = new ObjectValue();
+        data.add("items", items);
+        return data;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        parser.prepare(null);
+        config.add(ProteusConstants.COLLECTION, Binding.DataBinding.valueOf("items"));
+        config.add(ProteusConstants.LAYOUT, new Layout("TextView", null, null, null));
+        when(((ProteusView) view).getAsView()).thenReturn(view);
+    }
+
+    private ProteusView.Manager manager(Value adapter) {
+        int id = parser.getAttributeId(ViewPagerParser.ATTRIBUTE_ADAPTER);
+        Layout layout = new Layout("ViewPager", Collections.singletonList(new Layout.Attribute(id, adapter)), null, null);
+        ProteusView.Manager manager = parser.createViewManager(mock(ProteusContext.class), (ProteusView) view, layout,
+                new ObjectValue(), parser, null, 0);
+        when(((ProteusView) view).getViewManager()).thenReturn(manager);
+        return manager;
+    }
+
+    @Test
+    public void update_plainConfig() throws Exception {
+        ProteusPagerAdapter adapter = mock(ProteusPagerAdapter.class);
+        when(adapter.getConfig()).thenReturn(config);
+        when(view.getAdapter()).thenReturn(adapter);
+
+        ProteusView.Manager manager = manager(config);
+        ObjectValue data = new ObjectValue();
+        manager.update(data);
+        verify(adapter).update(data, 0);
+
+        manager.update(data, Collections.singletonList("items"));
+        verify(adapter, times(2)).update(data, 0);
+
+        assertThat(manager, instanceOf(ViewManager.class));
+        assertThat(((ViewManager) manager).getDependencies(), hasItem("items"));
+    }
+
+    @Test
+    public void update_boundConfig() throws Exception {
+        ProteusPagerAdapter adapter = mock(ProteusPagerAdapter.class);
+        when(adapter.getConfig()).thenReturn(config);
+        when(view.getAdapter()).thenReturn(adapter);
+
+        ProteusView.Manager manager = manager(NestedBinding.valueOf(config));
+        ObjectValue data = new ObjectValue();
+        manager.update(data);
+        // applied by the bound attribute only
+        verify(adapter, times(1)).update(data, 0);
+    }
+
+    @Test
+    public void update_afterInflation() throws Exception {
+        ProteusView.Manager manager = manager(config);
+
+        // the adapter as set when the view is inflated
+        parser.setAdapter(view, config);
+        ArgumentCaptor<PagerAdapter> captor = ArgumentCaptor.forClass(PagerAdapter.class);
+        verify(view).setAdapter(captor.capture());
+        PagerAdapter adapter = captor.getValue();
+        when(view.getAdapter()).thenReturn(adapter);
+        assertThat(adapter.getCount(), is(0));
+
+        manager.update(data(4));
+        assertThat(adapter.getCount(), is(4));
+    }
+
+    @Test
+    public void update_bindPlan() throws Exception {
+        ProteusPagerAdapter adapter = mock(ProteusPagerAdapter.class);
+        when(adapter.getConfig()).thenReturn(config);
+        when(view.getAdapter()).thenReturn(adapter);
+
+        manager(config);
+        ObjectValue data = new ObjectValue();
+        new BindPlan.Builder((ProteusView) view).build(data).apply();
+        verify(adapter).update(data, 0);
+    }
+}